@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+#
+# Throughput and p50/p90/p99 latency of the blocking resources on virtual threads (this working
+# tree) against the same resources on the worker pool (this working tree with @RunOnVirtualThread
+# removed). Quarkus picks the execution model at build time, so each variant is its own build;
+# both are measured by LoadTest against the same seeded database.
+#
+#   benchmarks/compare-worker-pool.sh [clients] [warmup seconds] [measured seconds]
+#
+# Results: benchmarks/results/loadtest-<commit>-{virtual-threads,worker-pool}.json
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+ROOT=$PWD
+MVN="$ROOT/mvnw"
+RESULTS="$ROOT/benchmarks/results"
+COMMIT=$(git rev-parse --short HEAD)
+LOADTEST_ARGS=("${@}")
+
+WORKER_POOL_TREE=$(mktemp -d)
+trap 'rm -rf "$WORKER_POOL_TREE"' EXIT
+
+echo "Building the virtual thread variant"
+"$MVN" -q -B install -DskipTests
+
+echo "Building the worker pool variant in $WORKER_POOL_TREE"
+cp -r pom.xml mvnw .mvn src "$WORKER_POOL_TREE"
+sed -i -e '/^@RunOnVirtualThread$/d' -e '/^import io.smallrye.common.annotation.RunOnVirtualThread;$/d' \
+    "$WORKER_POOL_TREE"/src/main/java/com/codev/api/resource/*.java
+if grep -rq "RunOnVirtualThread" "$WORKER_POOL_TREE/src/main/java"; then
+    echo "@RunOnVirtualThread is still used outside the resource classes" >&2
+    exit 1
+fi
+(cd "$WORKER_POOL_TREE" && "$MVN" -q -B package -DskipTests)
+
+"$MVN" -q -B -f benchmarks/pom.xml package
+mkdir -p "$RESULTS"
+
+for variant in virtual-threads worker-pool; do
+    if [ "$variant" = virtual-threads ]; then app="$ROOT/target/quarkus-app/quarkus-run.jar"; else app="$WORKER_POOL_TREE/target/quarkus-app/quarkus-run.jar"; fi
+
+    echo "Measuring $variant"
+    java -cp benchmarks/target/benchmarks.jar com.codev.benchmarks.LoadTest \
+        "$app" "$RESULTS/loadtest-$COMMIT-$variant.json" "${LOADTEST_ARGS[@]}"
+done
@@ -0,0 +1,62 @@
+package com.codev.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.http.HttpRequest;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /challenges, offset paging through the seeded catalog. Pages of 10, 100 and 1000 show the
+ * per-item cost of the listing; viewSerializers=false serves the same pages through the
+ * reflective JSON-B mapping for comparison with the hand-written serializers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = CodevEnvironment.LOG_MANAGER)
+public class ChallengeCatalogBenchmark {
+
+    private static final int MAX_PAGES = 50;
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean viewSerializers;
+
+    private CodevEnvironment environment;
+
+    private HttpRequest[] pages;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int next;
+
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        environment = CodevEnvironment.start(Map.of("codev.json.view-serializers.enabled", String.valueOf(viewSerializers)));
+
+        pages = new HttpRequest[Math.min(Dataset.CHALLENGES / size, MAX_PAGES)];
+        for (int page = 0; page < pages.length; page++) {
+            pages[page] = environment.request("challenges?page=" + page + "&size=" + size).GET().build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        environment.close();
+    }
+
+    @Benchmark
+    public byte[] findAllChallengesWithPaging(Cursor cursor) throws Exception {
+        HttpRequest page = pages[cursor.next++ % pages.length];
+        return environment.send(page);
+    }
+
+}
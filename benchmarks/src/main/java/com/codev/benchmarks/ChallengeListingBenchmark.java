@@ -0,0 +1,151 @@
+package com.codev.benchmarks;
+
+import com.codev.domain.dto.view.ChallengeDTOView;
+import com.codev.domain.dto.view.TechnologyDTOView;
+import com.codev.domain.enums.ChallengeStatus;
+import com.codev.domain.model.Category;
+import com.codev.domain.model.Challenge;
+import com.codev.domain.model.Label;
+import com.codev.domain.model.Role;
+import com.codev.domain.model.Technology;
+import com.codev.domain.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A page of hydrated challenges turned into the listing, in memory: through two HashSets, as
+ * GET /challenges did before, which hash the @Data entities and views and everything they
+ * reference, and through the ordered list it uses now, keyed on id. The hydration query returns
+ * the rows in no particular order, so both start from the same shuffled rows and the page of ids.
+ * <p>
+ * The participants are set here. Under Hibernate they were lazy, and hashing a challenge also
+ * loaded them, one statement per challenge; ChallengeCatalogResourceTest counts those.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ChallengeListingBenchmark {
+
+    private static final int TECHNOLOGIES_PER_CHALLENGE = 3;
+
+    private static final int PARTICIPANTS_PER_CHALLENGE = 5;
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private List<UUID> ids;
+
+    private List<Challenge> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(Dataset.SEED);
+        LocalDateTime createdAt = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+        Category category = new Category("Backend");
+        category.setId(UUID.randomUUID());
+
+        List<Technology> technologies = new ArrayList<>();
+        for (String name : List.of("Java", "Quarkus", "Postgres", "React", "Docker", "Kafka")) {
+            Technology technology = new Technology();
+            technology.setId(UUID.randomUUID());
+            technology.setName(name);
+            technology.setColor("#3c873a");
+            technologies.add(technology);
+        }
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            users.add(user(i, createdAt));
+        }
+
+        ids = new ArrayList<>(size);
+        rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Challenge challenge = new Challenge();
+            challenge.setId(UUID.randomUUID());
+            challenge.setTitle("Challenge " + i);
+            challenge.setDescription("Build an api with a database, a cache and a queue, number " + i);
+            challenge.setStatus(ChallengeStatus.IN_PROGRESS);
+            challenge.setCreatedAt(createdAt.minusHours(i));
+            challenge.setAuthor(users.get(random.nextInt(users.size())));
+            challenge.setCategory(category);
+            challenge.setTechnologies(new HashSet<>(pick(technologies, TECHNOLOGIES_PER_CHALLENGE, random)));
+            challenge.setParticipants(pick(users, PARTICIPANTS_PER_CHALLENGE, random));
+
+            ids.add(challenge.getId());
+            rows.add(challenge);
+        }
+        Collections.shuffle(rows, random);
+    }
+
+    @Benchmark
+    public Set<ChallengeDTOView> hashSets() {
+        Set<Challenge> challenges = new HashSet<>(rows);
+
+        return challenges.stream()
+                .map(ChallengeListingBenchmark::toCardView)
+                .collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public List<ChallengeDTOView> orderedList() {
+        Map<UUID, Challenge> challengesById = new HashMap<>();
+        for (Challenge challenge : rows) {
+            challengesById.putIfAbsent(challenge.getId(), challenge);
+        }
+
+        return ids.stream()
+                .map(challengesById::get)
+                .filter(Objects::nonNull)
+                .map(ChallengeListingBenchmark::toCardView)
+                .toList();
+    }
+
+    // As ChallengeService builds the card of the listing
+    private static ChallengeDTOView toCardView(Challenge challenge) {
+        Set<TechnologyDTOView> technologies = challenge.getTechnologies().stream()
+                .map(TechnologyDTOView::new)
+                .collect(Collectors.toSet());
+
+        return new ChallengeDTOView(challenge, challenge.getCategory(), technologies);
+    }
+
+    private static User user(int i, LocalDateTime createdAt) {
+        Label label = new Label();
+        label.setId(UUID.randomUUID());
+        label.setTitle("Mentor");
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName("User " + i);
+        user.setEmail("user" + i + "@codev.com");
+        user.setCreatedAt(createdAt);
+        user.setLabels(Set.of(label));
+        user.setRoles(List.of(new Role("USER")));
+        return user;
+    }
+
+    private static <T> List<T> pick(List<T> from, int count, Random random) {
+        List<T> shuffled = new ArrayList<>(from);
+        Collections.shuffle(shuffled, random);
+        return new ArrayList<>(shuffled.subList(0, count));
+    }
+
+}
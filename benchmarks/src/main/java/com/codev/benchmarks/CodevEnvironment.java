@@ -0,0 +1,296 @@
+package com.codev.benchmarks;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * An embedded Postgres and the packaged application, with the {@link Dataset} loaded. The
+ * application runs in the benchmark JVM for JMH, so the gc profiler sees its allocations, or in a
+ * child JVM of its own for the load test. It creates the schema on startup, then its import.sql
+ * and the dataset are added before the first measured call.
+ */
+public class CodevEnvironment implements AutoCloseable {
+
+    /**
+     * The user of import.sql with only the USER role; its legacy hash is upgraded on the first login.
+     */
+    public static final String USER_EMAIL = "pedro@gmail.com";
+
+    public static final String USER_PASSWORD = "12345";
+
+    /**
+     * An ADMIN of import.sql, with the same password.
+     */
+    public static final String ADMIN_EMAIL = "breno@gmail.com";
+
+    /**
+     * JVM argument every fork needs: the application logs through JBoss LogManager, which has to be
+     * the JUL manager before anything touches java.util.logging.
+     */
+    public static final String LOG_MANAGER = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager";
+
+    private static final String ENTRY_POINT = "io.quarkus.bootstrap.runner.QuarkusEntryPoint";
+
+    private static final String IMPORT_SCRIPT = "import.sql";
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final EmbeddedPostgres postgres;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final URI baseUri;
+
+    private final Dataset dataset;
+
+    private final String token;
+
+    // The application JVM when it runs as a child process, null when it runs in this one
+    private final Process process;
+
+    private CodevEnvironment(Map<String, String> config, Path app, boolean childProcess) throws Exception {
+        if (!Files.isRegularFile(app))
+            throw new IllegalStateException(app + " not found, package the application first");
+
+        postgres = EmbeddedPostgres.builder().start();
+
+        int port = freePort();
+        baseUri = URI.create("http://localhost:" + port + "/");
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("quarkus.http.port", String.valueOf(port));
+        properties.put("quarkus.datasource.jdbc.url", postgres.getJdbcUrl("postgres", "postgres"));
+        properties.put("quarkus.datasource.username", "postgres");
+        properties.put("quarkus.datasource.password", "postgres");
+        properties.put("quarkus.log.level", "WARN");
+        // The embedded binaries are not guaranteed to ship pg_trgm
+        properties.put("codev.users.search.create-index", "false");
+        // Every login comes from the same user and address, keep admission control out of the way
+        properties.put("codev.login.email.capacity", "1000000000");
+        properties.put("codev.login.email.refill-per-minute", "1000000000");
+        properties.put("codev.login.ip.capacity", "1000000000");
+        properties.put("codev.login.ip.refill-per-minute", "1000000000");
+        properties.putAll(config);
+
+        if (childProcess) {
+            process = launchProcess(app, properties);
+        } else {
+            properties.forEach(System::setProperty);
+            startApplication();
+            process = null;
+        }
+        awaitReady();
+
+        runImportScript(app, postgres.getPostgresDatabase());
+        dataset = Dataset.load(postgres.getPostgresDatabase());
+        token = login(USER_EMAIL, USER_PASSWORD);
+    }
+
+    /**
+     * Starts everything with the given application properties on top of the benchmark defaults,
+     * running the application found on the class path (see the manifest of the benchmark jar).
+     * Application properties are read once, so each JMH fork runs a single environment.
+     */
+    public static CodevEnvironment start(Map<String, String> config) throws Exception {
+        Class<?> entryPoint;
+        try {
+            entryPoint = Class.forName(ENTRY_POINT);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("target/quarkus-app/quarkus-run.jar is not on the class path, package the application first", e);
+        }
+
+        // The entry point comes from quarkus-app/lib/boot, next to the runner jar
+        Path bootLibrary = Path.of(entryPoint.getProtectionDomain().getCodeSource().getLocation().toURI());
+        return new CodevEnvironment(config, bootLibrary.getParent().getParent().resolveSibling("quarkus-run.jar"), false);
+    }
+
+    /**
+     * Starts everything with the application in a JVM of its own, run from the given runner jar.
+     */
+    public static CodevEnvironment startProcess(Path app, Map<String, String> config) throws Exception {
+        return new CodevEnvironment(config, app.toAbsolutePath(), true);
+    }
+
+    public Dataset dataset() {
+        return dataset;
+    }
+
+    public HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30));
+    }
+
+    public HttpRequest.Builder authenticatedRequest(String path) {
+        return request(path).header("Authorization", "Bearer " + token);
+    }
+
+    /**
+     * Sends the request and fails the benchmark on anything but 200, so an error path is never
+     * measured by mistake.
+     */
+    public byte[] send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        if (response.statusCode() != 200)
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode()
+                    + ": " + new String(response.body()));
+
+        return response.body();
+    }
+
+    public static String loginBody(String email, String password) {
+        return "{\"username\":\"" + email + "\",\"password\":\"" + password + "\"}";
+    }
+
+    public HttpRequest loginRequest() {
+        return loginRequest(USER_EMAIL, USER_PASSWORD);
+    }
+
+    public HttpRequest loginRequest(String email, String password) {
+        return request("users/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody(email, password)))
+                .build();
+    }
+
+    /**
+     * Logs in and returns the token.
+     */
+    public String login(String email, String password) throws IOException, InterruptedException {
+        String response = new String(send(loginRequest(email, password)));
+
+        Matcher matcher = TOKEN.matcher(response);
+        if (!matcher.find())
+            throw new IllegalStateException("No token in the login response: " + response);
+
+        return matcher.group(1);
+    }
+
+    /*
+     * Runs the Quarkus runner jar in this JVM. It has to be on the system class path with its boot
+     * libraries, as under java -jar: the class loader of the application delegates to that one for
+     * the runtime classes. The entry point finds the application next to its own jar and blocks
+     * until shutdown, so it gets a daemon thread of its own.
+     */
+    private static void startApplication() {
+        Thread thread = new Thread(() -> {
+            try {
+                Class.forName(ENTRY_POINT).getMethod("main", String[].class).invoke(null, (Object) new String[0]);
+            } catch (InvocationTargetException e) {
+                e.getCause().printStackTrace();
+            } catch (ReflectiveOperationException e) {
+                e.printStackTrace();
+            }
+        }, "codev-api");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static Process launchProcess(Path app, Map<String, String> properties) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        properties.forEach((name, value) -> command.add("-D" + name + "=" + value));
+        command.add("-jar");
+        command.add(app.toString());
+
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    /*
+     * Quarkus only loads import.sql in dev and test mode, and the packaged application runs in
+     * prod, so its statements are run here from the application jar, one per line.
+     */
+    private static void runImportScript(Path app, DataSource dataSource) throws IOException, SQLException {
+        Path applicationJar;
+        try (Stream<Path> jars = Files.list(app.resolveSibling("app"))) {
+            applicationJar = jars.filter(jar -> jar.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No application jar next to " + app));
+        }
+
+        String script;
+        try (JarFile jar = new JarFile(applicationJar.toFile())) {
+            script = new String(jar.getInputStream(jar.getEntry(IMPORT_SCRIPT)).readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+
+            for (String line : script.split("\\R")) {
+                if (!line.isBlank())
+                    statement.addBatch(line);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void awaitReady() throws InterruptedException {
+        HttpRequest probe = request("challenges?size=1").GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (process != null && !process.isAlive())
+                throw new IllegalStateException("The application exited with " + process.exitValue());
+
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                    return;
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("The application did not start within " + STARTUP_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Stops the child application, if any, and the database. An application running in this JVM is
+     * left to the end of the fork: stopping Quarkus from here would exit the JVM before JMH collects
+     * the results.
+     */
+    @Override
+    public void close() throws IOException {
+        if (process != null) {
+            process.destroy();
+            try {
+                process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        postgres.close();
+    }
+
+}
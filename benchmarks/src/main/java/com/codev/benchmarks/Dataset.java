@@ -0,0 +1,272 @@
+package com.codev.benchmarks;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Rows added on top of import.sql, generated from a fixed seed so every run and every commit
+ * measures the same data. One challenge is the hot one: it carries the solutions and likes read
+ * and written by the benchmarks.
+ */
+public class Dataset {
+
+    public static final long SEED = 20231017L;
+
+    public static final int USERS = 1000;
+
+    public static final int CHALLENGES = 5000;
+
+    public static final int HOT_SOLUTIONS = 500;
+
+    public static final int MAX_SEEDED_LIKES = 50;
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    private static final String WORDS = "challenge api backend frontend database cache query index java react sql " +
+            "deploy test queue stream latency throughput page cursor token solution like leaderboard";
+
+    private final DataSource dataSource;
+
+    private final UUID hotChallenge;
+
+    private final List<UUID> hotSolutions;
+
+    // Users that never like anything in the seed, so every like the benchmark sends is a new one
+    private final List<UUID> likers;
+
+    private Dataset(DataSource dataSource, UUID hotChallenge, List<UUID> hotSolutions, List<UUID> likers) {
+        this.dataSource = dataSource;
+        this.hotChallenge = hotChallenge;
+        this.hotSolutions = hotSolutions;
+        this.likers = likers;
+    }
+
+    public UUID hotChallenge() {
+        return hotChallenge;
+    }
+
+    public List<UUID> hotSolutions() {
+        return hotSolutions;
+    }
+
+    public List<UUID> likers() {
+        return likers;
+    }
+
+    static Dataset load(DataSource dataSource) throws SQLException {
+        Random random = new Random(SEED);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            UUID userRole = findId(connection, "SELECT id FROM tb_role WHERE name = 'USER'");
+            List<UUID> categories = findIds(connection, "SELECT id FROM tb_category ORDER BY id");
+            List<UUID> technologies = findIds(connection, "SELECT id FROM tb_technology ORDER BY id");
+
+            List<UUID> users = insertUsers(connection, random, userRole);
+            List<UUID> challenges = insertChallenges(connection, random, users, categories, technologies);
+
+            UUID hotChallenge = challenges.get(0);
+            List<UUID> authors = users.subList(0, USERS / 2);
+            List<UUID> hotSolutions = insertSolutions(connection, random, hotChallenge, authors);
+            insertLikes(connection, random, hotSolutions, authors);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE tb_solution s SET likes_count = " +
+                        "(SELECT count(*) FROM tb_like l WHERE l.solution_id = s.id)");
+                statement.executeUpdate("UPDATE tb_challenge c SET solutions_count = " +
+                        "(SELECT count(*) FROM tb_solution s WHERE s.challenge_id = c.id)");
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+
+            return new Dataset(dataSource, hotChallenge, Collections.unmodifiableList(hotSolutions),
+                    Collections.unmodifiableList(users.subList(USERS / 2, USERS)));
+        }
+    }
+
+    /**
+     * Removes the likes given by the benchmark, so each iteration starts from the seeded counts.
+     */
+    public void resetLikes() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM tb_like WHERE participant_id = ANY(?)");
+                 PreparedStatement recount = connection.prepareStatement("UPDATE tb_solution s SET likes_count = " +
+                         "(SELECT count(*) FROM tb_like l WHERE l.solution_id = s.id) WHERE s.challenge_id = ?")) {
+
+                delete.setArray(1, connection.createArrayOf("uuid", likers.toArray()));
+                delete.executeUpdate();
+
+                recount.setObject(1, hotChallenge);
+                recount.executeUpdate();
+            }
+            connection.commit();
+        }
+    }
+
+    private static List<UUID> insertUsers(Connection connection, Random random, UUID userRole) throws SQLException {
+        String userSql = "INSERT INTO tb_user (id, email, name, password, active, github_url, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, true, ?, ?, ?)";
+        String roleSql = "INSERT INTO tb_user_role (user_id, role_id) VALUES (?, ?)";
+
+        List<UUID> users = new ArrayList<>(USERS);
+        try (PreparedStatement userStatement = connection.prepareStatement(userSql);
+             PreparedStatement roleStatement = connection.prepareStatement(roleSql)) {
+
+            for (int i = 0; i < USERS; i++) {
+                UUID id = uuid(random);
+                LocalDateTime createdAt = CREATED_AT.plusSeconds(i);
+
+                userStatement.setObject(1, id);
+                userStatement.setString(2, "user" + i + "@bench.codev");
+                userStatement.setString(3, "Bench User " + i);
+                // Not a valid hash: these users are never logged in
+                userStatement.setString(4, "-");
+                userStatement.setString(5, "https://github.com/bench-user-" + i);
+                userStatement.setObject(6, createdAt);
+                userStatement.setObject(7, createdAt);
+                userStatement.addBatch();
+
+                roleStatement.setObject(1, id);
+                roleStatement.setObject(2, userRole);
+                roleStatement.addBatch();
+
+                users.add(id);
+            }
+            userStatement.executeBatch();
+            roleStatement.executeBatch();
+        }
+        return users;
+    }
+
+    private static List<UUID> insertChallenges(
+            Connection connection, Random random, List<UUID> users, List<UUID> categories, List<UUID> technologies
+    ) throws SQLException {
+        String challengeSql = "INSERT INTO tb_challenge (id, title, description, author_id, active, status, category_id, created_at) " +
+                "VALUES (?, ?, ?, ?, true, 'IN_PROGRESS', ?, ?)";
+        String technologySql = "INSERT INTO tb_challenge_technology (id, challenge_id, technology_id) VALUES (?, ?, ?)";
+
+        List<UUID> challenges = new ArrayList<>(CHALLENGES);
+        try (PreparedStatement challengeStatement = connection.prepareStatement(challengeSql);
+             PreparedStatement technologyStatement = connection.prepareStatement(technologySql)) {
+
+            for (int i = 0; i < CHALLENGES; i++) {
+                UUID id = uuid(random);
+
+                challengeStatement.setObject(1, id);
+                challengeStatement.setString(2, "Challenge " + i);
+                challengeStatement.setString(3, text(random, 20 + random.nextInt(120)));
+                challengeStatement.setObject(4, users.get(random.nextInt(users.size())));
+                challengeStatement.setObject(5, categories.get(i % categories.size()));
+                challengeStatement.setObject(6, CREATED_AT.plusMinutes(i));
+                challengeStatement.addBatch();
+
+                for (UUID technology : technologies) {
+                    if (random.nextBoolean()) {
+                        technologyStatement.setObject(1, uuid(random));
+                        technologyStatement.setObject(2, id);
+                        technologyStatement.setObject(3, technology);
+                        technologyStatement.addBatch();
+                    }
+                }
+
+                challenges.add(id);
+            }
+            challengeStatement.executeBatch();
+            technologyStatement.executeBatch();
+        }
+        return challenges;
+    }
+
+    private static List<UUID> insertSolutions(Connection connection, Random random, UUID challenge, List<UUID> authors)
+            throws SQLException {
+        String sql = "INSERT INTO tb_solution (id, author_id, challenge_id, repository_url, deploy_url, likes_count) " +
+                "VALUES (?, ?, ?, ?, ?, 0)";
+
+        List<UUID> solutions = new ArrayList<>(HOT_SOLUTIONS);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < HOT_SOLUTIONS; i++) {
+                UUID id = uuid(random);
+
+                statement.setObject(1, id);
+                statement.setObject(2, authors.get(i % authors.size()));
+                statement.setObject(3, challenge);
+                statement.setString(4, "https://github.com/bench/solution-" + i);
+                statement.setString(5, "https://solution-" + i + ".bench.codev");
+                statement.addBatch();
+
+                solutions.add(id);
+            }
+            statement.executeBatch();
+        }
+        return solutions;
+    }
+
+    private static void insertLikes(Connection connection, Random random, List<UUID> solutions, List<UUID> users)
+            throws SQLException {
+        String sql = "INSERT INTO tb_like (participant_id, solution_id) VALUES (?, ?)";
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (UUID solution : solutions) {
+                int likes = random.nextInt(MAX_SEEDED_LIKES + 1);
+                int first = random.nextInt(users.size());
+
+                // Consecutive users from a random start, so no pair repeats
+                for (int i = 0; i < likes; i++) {
+                    statement.setObject(1, users.get((first + i) % users.size()));
+                    statement.setObject(2, solution);
+                    statement.addBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static String text(Random random, int words) {
+        String[] dictionary = WORDS.split(" ");
+        StringBuilder text = new StringBuilder();
+
+        for (int i = 0; i < words; i++) {
+            if (i > 0)
+                text.append(' ');
+            text.append(dictionary[random.nextInt(dictionary.length)]);
+        }
+        return text.toString();
+    }
+
+    private static UUID uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private static UUID findId(Connection connection, String sql) throws SQLException {
+        return findIds(connection, sql).get(0);
+    }
+
+    private static List<UUID> findIds(Connection connection, String sql) throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next())
+                ids.add(resultSet.getObject(1, UUID.class));
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.codev.benchmarks;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Closed-loop load against one packaged build of the application, for comparing builds rather
+ * than code paths: more clients than the connection pool has connections send a mix of solution
+ * page reads, challenge listings and likes, and the throughput and latency percentiles of the
+ * measured window are written as JSON. The application runs in a JVM of its own, so each build
+ * is measured the way it is deployed. See compare-worker-pool.sh.
+ * <p>
+ * Usage: {@code LoadTest <quarkus-run.jar> <result.json> [clients] [warmup seconds] [measured seconds]}
+ */
+public class LoadTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final Pattern STATUS = Pattern.compile(" returned (\\d{3})");
+
+    private final CodevEnvironment environment;
+
+    private final AtomicLong likes = new AtomicLong();
+
+    private volatile boolean measuring;
+
+    private volatile boolean stopped;
+
+    private LoadTest(CodevEnvironment environment) {
+        this.environment = environment;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: LoadTest <quarkus-run.jar> <result.json> [clients] [warmup seconds] [measured seconds]");
+            System.exit(2);
+        }
+
+        Path app = Path.of(args[0]);
+        Path result = Path.of(args[1]);
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        int measuredSeconds = args.length > 4 ? Integer.parseInt(args[4]) : 60;
+
+        try (CodevEnvironment environment = CodevEnvironment.startProcess(app, Map.of())) {
+            String json = new LoadTest(environment).run(app, clients, warmupSeconds, measuredSeconds);
+
+            Files.createDirectories(result.toAbsolutePath().getParent());
+            Files.writeString(result, json);
+            System.out.println(json);
+        }
+    }
+
+    private String run(Path app, int clients, int warmupSeconds, int measuredSeconds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<Client>> futures = new ArrayList<>(clients);
+
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(new Random(Dataset.SEED + i));
+            futures.add(executor.submit(() -> {
+                client.run();
+                return client;
+            }));
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+        measuring = true;
+        long start = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(measuredSeconds));
+        measuring = false;
+        long elapsed = System.nanoTime() - start;
+        stopped = true;
+
+        Histogram latencies = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long errors = 0;
+        Map<String, Long> causes = new HashMap<>();
+        for (Future<Client> future : futures) {
+            Client client = future.get();
+            latencies.add(client.latencies);
+            errors += client.errors;
+            client.causes.forEach((cause, count) -> causes.merge(cause, count, Long::sum));
+        }
+        executor.shutdown();
+
+        double seconds = elapsed / 1e9;
+        return String.format(Locale.ROOT, """
+                {
+                  "app": "%s",
+                  "clients": %d,
+                  "measuredSeconds": %.1f,
+                  "requests": %d,
+                  "errors": %d,
+                  "errorCauses": {%s},
+                  "throughputPerSecond": %.1f,
+                  "p50Ms": %.3f,
+                  "p90Ms": %.3f,
+                  "p99Ms": %.3f,
+                  "maxMs": %.3f
+                }
+                """,
+                app.toAbsolutePath().toString().replace("\\", "\\\\"),
+                clients,
+                seconds,
+                latencies.getTotalCount(),
+                errors,
+                causes.entrySet().stream()
+                        .map(entry -> "\"" + entry.getKey() + "\": " + entry.getValue())
+                        .collect(Collectors.joining(", ")),
+                latencies.getTotalCount() / seconds,
+                latencies.getValueAtPercentile(50) / 1e6,
+                latencies.getValueAtPercentile(90) / 1e6,
+                latencies.getValueAtPercentile(99) / 1e6,
+                latencies.getMaxValue() / 1e6
+        );
+    }
+
+    /*
+     * Eight in ten requests read a page of the hot challenge's solutions, one lists challenges and
+     * one likes a solution with a pair that was never liked before.
+     */
+    private HttpRequest nextRequest(Random random) {
+        Dataset dataset = environment.dataset();
+        int pick = random.nextInt(10);
+
+        if (pick < 8) {
+            UUID reader = dataset.likers().get(random.nextInt(dataset.likers().size()));
+            int page = random.nextInt(Dataset.HOT_SOLUTIONS / PAGE_SIZE);
+
+            return environment.authenticatedRequest(
+                    "challenges/" + dataset.hotChallenge() + "/solutions?page=" + page + "&size=" + PAGE_SIZE
+            ).header("X-User-ID", reader.toString()).GET().build();
+        }
+
+        if (pick == 8) {
+            return environment.request("challenges?size=" + PAGE_SIZE).GET().build();
+        }
+
+        long like = likes.getAndIncrement();
+        UUID solution = dataset.hotSolutions().get((int) (like % dataset.hotSolutions().size()));
+        UUID liker = dataset.likers().get((int) (like / dataset.hotSolutions().size() % dataset.likers().size()));
+
+        return environment.authenticatedRequest("solutions/" + solution + "/add-like")
+                .header("X-User-ID", liker.toString())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private class Client {
+
+        private final Random random;
+
+        private final Histogram latencies = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+
+        private long errors;
+
+        // Failures by status code, or by exception when no response came back
+        private final Map<String, Long> causes = new HashMap<>();
+
+        Client(Random random) {
+            this.random = random;
+        }
+
+        void run() {
+            while (!stopped) {
+                HttpRequest request = nextRequest(random);
+                long start = System.nanoTime();
+                String failure = null;
+
+                try {
+                    environment.send(request);
+                } catch (Exception e) {
+                    failure = cause(e);
+                }
+
+                if (!measuring)
+                    continue;
+
+                if (failure != null) {
+                    errors++;
+                    causes.merge(failure, 1L, Long::sum);
+                } else
+                    latencies.recordValue(Math.min(System.nanoTime() - start, HIGHEST_TRACKABLE_NANOS));
+            }
+        }
+
+        private static String cause(Exception e) {
+            Matcher status = e.getMessage() != null ? STATUS.matcher(e.getMessage()) : null;
+
+            return status != null && status.find() ? status.group(1) : e.getClass().getSimpleName();
+        }
+
+    }
+
+}
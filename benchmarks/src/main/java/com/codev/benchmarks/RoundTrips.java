@@ -0,0 +1,134 @@
+package com.codev.benchmarks;
+
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Database round trips of the requests the second-level cache serves, counted rather than timed:
+ * the statements recorded by the JDBC instrumentation (GET /admin/database/metrics) are read
+ * before and after each request. A user read the first time goes to the database, the same read
+ * again is answered from the cache; the difference is what the cache saves per request. The
+ * application runs in a JVM of its own and the counts are written as JSON.
+ * <p>
+ * Usage: {@code RoundTrips <quarkus-run.jar> <result.json> [users]}
+ */
+public class RoundTrips {
+
+    private static final Pattern STATEMENT_COUNT = Pattern.compile("\"statement\"\\s*:\\s*\\{\\s*\"count\"\\s*:\\s*(\\d+)");
+
+    // The other ADMIN of import.sql, whose first login is measured
+    private static final String MEASURED_ADMIN_EMAIL = "harlon@gmail.com";
+
+    private static final int LOGINS = 20;
+
+    private final CodevEnvironment environment;
+
+    private final HttpRequest metrics;
+
+    private RoundTrips(CodevEnvironment environment, String adminToken) {
+        this.environment = environment;
+        this.metrics = environment.request("admin/database/metrics")
+                .header("Authorization", "Bearer " + adminToken)
+                .GET()
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: RoundTrips <quarkus-run.jar> <result.json> [users]");
+            System.exit(2);
+        }
+
+        Path app = Path.of(args[0]);
+        Path result = Path.of(args[1]);
+        int users = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+        try (CodevEnvironment environment = CodevEnvironment.startProcess(app, Map.of())) {
+            String adminToken = environment.login(CodevEnvironment.ADMIN_EMAIL, CodevEnvironment.USER_PASSWORD);
+            String json = new RoundTrips(environment, adminToken).run(app, users);
+
+            Files.createDirectories(result.toAbsolutePath().getParent());
+            Files.writeString(result, json);
+            System.out.println(json);
+        }
+    }
+
+    private String run(Path app, int users) throws Exception {
+        List<UUID> readers = environment.dataset().likers().subList(0, users);
+
+        // GET /users/{id}: every user read once with nothing cached for it, then once more
+        long coldReads = 0;
+        for (UUID user : readers) {
+            coldReads += statementsOf(environment.authenticatedRequest("users/" + user).GET().build());
+        }
+        long warmReads = 0;
+        for (UUID user : readers) {
+            warmReads += statementsOf(environment.authenticatedRequest("users/" + user).GET().build());
+        }
+
+        // POST /users/login: the first login also replaces the legacy hash of import.sql
+        HttpRequest login = environment.loginRequest(MEASURED_ADMIN_EMAIL, CodevEnvironment.USER_PASSWORD);
+        long coldLogin = statementsOf(login);
+        long warmLogins = 0;
+        for (int i = 0; i < LOGINS; i++) {
+            warmLogins += statementsOf(login);
+        }
+
+        return String.format(Locale.ROOT, """
+                {
+                  "app": "%s",
+                  "requests": [
+                    {
+                      "request": "GET /users/{id}",
+                      "samples": %d,
+                      "coldStatements": %.2f,
+                      "warmStatements": %.2f,
+                      "savedStatements": %.2f
+                    },
+                    {
+                      "request": "POST /users/login",
+                      "samples": %d,
+                      "coldStatements": %.2f,
+                      "warmStatements": %.2f,
+                      "savedStatements": %.2f
+                    }
+                  ]
+                }
+                """,
+                app.toAbsolutePath().toString().replace("\\", "\\\\"),
+                users,
+                (double) coldReads / users,
+                (double) warmReads / users,
+                (double) (coldReads - warmReads) / users,
+                LOGINS,
+                (double) coldLogin,
+                (double) warmLogins / LOGINS,
+                coldLogin - (double) warmLogins / LOGINS
+        );
+    }
+
+    private long statementsOf(HttpRequest request) throws Exception {
+        long before = statementCount();
+        environment.send(request);
+        return statementCount() - before;
+    }
+
+    // Summed over the call sites, the metrics request itself runs none
+    private long statementCount() throws Exception {
+        Matcher matcher = STATEMENT_COUNT.matcher(new String(environment.send(metrics)));
+
+        long count = 0;
+        while (matcher.find()) {
+            count += Long.parseLong(matcher.group(1));
+        }
+        return count;
+    }
+
+}
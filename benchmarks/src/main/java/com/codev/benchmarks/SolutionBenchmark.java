@@ -0,0 +1,89 @@
+package com.codev.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The solutions of the hot challenge: reading a page of them with the liked flag of the reader,
+ * and liking one. Every like is a new (user, solution) pair; the likes are removed between
+ * iterations so each one starts from the seeded counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = CodevEnvironment.LOG_MANAGER)
+public class SolutionBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private CodevEnvironment environment;
+
+    private HttpRequest[] pages;
+
+    private final AtomicLong likes = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int next;
+
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        environment = CodevEnvironment.start(Map.of());
+
+        Dataset dataset = environment.dataset();
+        UUID reader = dataset.likers().get(0);
+
+        pages = new HttpRequest[Dataset.HOT_SOLUTIONS / PAGE_SIZE];
+        for (int page = 0; page < pages.length; page++) {
+            pages[page] = environment.authenticatedRequest(
+                    "challenges/" + dataset.hotChallenge() + "/solutions?page=" + page + "&size=" + PAGE_SIZE
+            ).header("X-User-ID", reader.toString()).GET().build();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetLikes() throws Exception {
+        environment.dataset().resetLikes();
+        likes.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        environment.close();
+    }
+
+    @Benchmark
+    public byte[] findAllSolutionsByChallengeId(Cursor cursor) throws Exception {
+        return environment.send(pages[cursor.next++ % pages.length]);
+    }
+
+    @Benchmark
+    public byte[] addLike() throws Exception {
+        List<UUID> solutions = environment.dataset().hotSolutions();
+        List<UUID> likers = environment.dataset().likers();
+
+        // Walks every solution for one user, then moves to the next user
+        long like = likes.getAndIncrement();
+        UUID solution = solutions.get((int) (like % solutions.size()));
+        UUID liker = likers.get((int) (like / solutions.size() % likers.size()));
+
+        HttpRequest request = environment.authenticatedRequest("solutions/" + solution + "/add-like")
+                .header("X-User-ID", liker.toString())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return environment.send(request);
+    }
+
+}
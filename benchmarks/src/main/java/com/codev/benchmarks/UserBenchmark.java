@@ -0,0 +1,63 @@
+package com.codev.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login, dominated by the password hash, and the user detail read on every authenticated page,
+ * which the second-level cache answers once warm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = CodevEnvironment.LOG_MANAGER)
+public class UserBenchmark {
+
+    private CodevEnvironment environment;
+
+    private HttpRequest login;
+
+    private HttpRequest[] users;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int next;
+
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        environment = CodevEnvironment.start(Map.of());
+        login = environment.loginRequest();
+
+        List<UUID> likers = environment.dataset().likers();
+        users = new HttpRequest[likers.size()];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = environment.authenticatedRequest("users/" + likers.get(i)).GET().build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        environment.close();
+    }
+
+    @Benchmark
+    public byte[] login() throws Exception {
+        return environment.send(login);
+    }
+
+    @Benchmark
+    public byte[] findUserById(Cursor cursor) throws Exception {
+        return environment.send(users[cursor.next++ % users.length]);
+    }
+
+}
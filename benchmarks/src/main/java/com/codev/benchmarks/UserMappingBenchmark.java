@@ -0,0 +1,87 @@
+package com.codev.benchmarks;
+
+import com.codev.domain.dto.view.UserDTOView;
+import com.codev.domain.model.Label;
+import com.codev.domain.model.Role;
+import com.codev.domain.model.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A page of users mapped to their views, in memory: through the view constructor, as
+ * UserService.findAllUsers does, and through ModelMapper, as it did before. The former
+ * DtoTransformer created a ModelMapper per call; a shared one shows the mapping cost alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    @Param({"10000"})
+    public int users;
+
+    private List<User> page;
+
+    private ModelMapper sharedModelMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Label label = new Label();
+        label.setId(UUID.randomUUID());
+        label.setTitle("Mentor");
+        label.setDescription("Answers questions on the forum");
+
+        Role role = new Role("USER");
+        LocalDateTime createdAt = LocalDateTime.of(2023, 8, 11, 0, 15);
+
+        page = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@codev.com");
+            user.setGithubUrl("https://github.com/user" + i);
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(createdAt.plusDays(i % 30));
+            user.setLabels(Set.of(label));
+            user.setRoles(List.of(role));
+            page.add(user);
+        }
+
+        sharedModelMapper = new ModelMapper();
+    }
+
+    @Benchmark
+    public List<UserDTOView> constructor() {
+        return page.stream()
+                .map(UserDTOView::new)
+                .toList();
+    }
+
+    @Benchmark
+    public List<UserDTOView> modelMapperPerCall() {
+        ModelMapper modelMapper = new ModelMapper();
+        return page.stream()
+                .map(user -> modelMapper.map(user, UserDTOView.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<UserDTOView> modelMapperShared() {
+        return page.stream()
+                .map(user -> sharedModelMapper.map(user, UserDTOView.class))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.codev.benchmarks;
+
+import com.codev.api.serializers.ViewSerializersCustomizer;
+import com.codev.domain.dto.view.ChallengeDTOView;
+import com.codev.domain.dto.view.SolutionDTOView;
+import com.codev.domain.dto.view.TechnologyDTOView;
+import com.codev.domain.dto.view.UserDTOView;
+import com.codev.domain.enums.ChallengeStatus;
+import com.codev.domain.model.Category;
+import com.codev.domain.model.Challenge;
+import com.codev.domain.model.Label;
+import com.codev.domain.model.Role;
+import com.codev.domain.model.User;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of prebuilt views written as JSON, in memory: through the view serializers, registered
+ * by the same customizer as in the application, and through the reflective JSON-B mapping they
+ * replaced. The page is written to a reused byte stream with its generic type, as the REST layer
+ * writes a response body, so neither HTTP nor the database is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ViewSerializationBenchmark {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2023, 8, 11, 0, 15, 49, 483342884);
+
+    @Param({"challenges", "solutions", "users"})
+    public String view;
+
+    @Param({"20", "100"})
+    public int size;
+
+    private Jsonb reflective;
+
+    private Jsonb serializers;
+
+    private List<?> page;
+
+    private Type pageType;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        reflective = JsonbBuilder.create(new JsonbConfig());
+
+        JsonbConfig config = new JsonbConfig();
+        new ViewSerializersCustomizer(true).customize(config);
+        serializers = JsonbBuilder.create(config);
+
+        Class<?> viewType;
+        switch (view) {
+            case "challenges" -> {
+                page = challenges();
+                viewType = ChallengeDTOView.class;
+            }
+            case "solutions" -> {
+                page = solutions();
+                viewType = SolutionDTOView.class;
+            }
+            case "users" -> {
+                page = users();
+                viewType = UserDTOView.class;
+            }
+            default -> throw new IllegalArgumentException("Unknown view " + view);
+        }
+        pageType = listOf(viewType);
+
+        // Both must write the same body, or the comparison is meaningless
+        if (!reflective.toJson(page, pageType).equals(serializers.toJson(page, pageType)))
+            throw new IllegalStateException("The serializers and the reflective mapping disagree on the " + view);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        reflective.close();
+        serializers.close();
+    }
+
+    @Benchmark
+    public int reflective() {
+        return write(reflective);
+    }
+
+    @Benchmark
+    public int serializers() {
+        return write(serializers);
+    }
+
+    private int write(Jsonb jsonb) {
+        body.reset();
+        jsonb.toJson(page, pageType, body);
+        return body.size();
+    }
+
+    private List<ChallengeDTOView> challenges() {
+        Category category = new Category("Backend");
+        category.setId(UUID.randomUUID());
+
+        List<ChallengeDTOView> challenges = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Challenge challenge = new Challenge();
+            challenge.setId(UUID.randomUUID());
+            challenge.setTitle("Challenge " + i);
+            challenge.setDescription("Build an api with a database, a cache and a queue, number " + i);
+            challenge.setStatus(ChallengeStatus.IN_PROGRESS);
+            challenge.setCreatedAt(CREATED_AT.minusHours(i));
+            challenge.setAuthor(user(i));
+            challenge.setParticipantsCount(i % 40);
+            challenge.setSolutionsCount(i % 7);
+
+            Set<TechnologyDTOView> technologies = new LinkedHashSet<>(List.of(
+                    new TechnologyDTOView(UUID.randomUUID(), "Java", "https://dev.java", "#f89820"),
+                    new TechnologyDTOView(UUID.randomUUID(), "Quarkus", "https://quarkus.io", "#4695eb")
+            ));
+
+            challenges.add(new ChallengeDTOView(challenge, category, technologies));
+        }
+        return challenges;
+    }
+
+    private List<SolutionDTOView> solutions() {
+        List<SolutionDTOView> solutions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            SolutionDTOView solution = new SolutionDTOView(UUID.randomUUID(), user(i),
+                    "https://github.com/user" + i + "/solution", "https://solution" + i + ".codev.com", i % 50, i % 3 == 0);
+            solution.setSolutionId(UUID.randomUUID());
+            solutions.add(solution);
+        }
+        return solutions;
+    }
+
+    private List<UserDTOView> users() {
+        List<UserDTOView> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(new UserDTOView(user(i)));
+        }
+        return users;
+    }
+
+    private static User user(int i) {
+        Label label = new Label();
+        label.setId(UUID.randomUUID());
+        label.setTitle("Mentor");
+        label.setDescription("Answers questions on the forum");
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName("User " + i);
+        user.setEmail("user" + i + "@codev.com");
+        user.setGithubUrl("https://github.com/user" + i);
+        user.setCreatedAt(CREATED_AT);
+        user.setUpdatedAt(CREATED_AT.plusDays(i % 30));
+        user.setLabels(Set.of(label));
+        user.setRoles(List.of(new Role("USER")));
+        return user;
+    }
+
+    private static Type listOf(Class<?> element) {
+        return new ParameterizedType() {
+            @Override
+            public Type[] getActualTypeArguments() {
+                return new Type[]{element};
+            }
+
+            @Override
+            public Type getRawType() {
+                return List.class;
+            }
+
+            @Override
+            public Type getOwnerType() {
+                return null;
+            }
+        };
+    }
+
+}
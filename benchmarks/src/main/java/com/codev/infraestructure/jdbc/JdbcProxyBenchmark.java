@@ -0,0 +1,138 @@
+package com.codev.infraestructure.jdbc;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One prepared statement round trip (prepare, bind, execute, read a row, close) on a raw
+ * connection and on the same connection wrapped the way the application wraps it: the
+ * {@link SlowQueryDriver} proxies under the pool and the per-call-site proxies over it. The
+ * difference between the two is the instrumentation cost per statement.
+ * <p>
+ * Against the stub, a connection answering from memory, that cost is all there is to measure;
+ * against Postgres it is shown next to a real round trip. The slow-query threshold check is left
+ * out, no recorder being active outside the application: it is a volatile read and a comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JdbcProxyBenchmark {
+
+    private static final String SQL = "SELECT ?::int8 + 1";
+
+    @Param({"stub", "postgres"})
+    public String target;
+
+    private EmbeddedPostgres postgres;
+
+    private Connection raw;
+
+    private Connection instrumented;
+
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if (target.equals("postgres")) {
+            postgres = EmbeddedPostgres.builder().start();
+
+            Properties properties = new Properties();
+            properties.setProperty("user", "postgres");
+            raw = new org.postgresql.Driver().connect(postgres.getJdbcUrl("postgres", "postgres"), properties);
+        } else {
+            raw = StubJdbc.connection();
+        }
+
+        CallSiteStats stats = new CallSiteStats(JdbcProxyBenchmark.class.getSimpleName());
+        instrumented = JdbcProxies.proxy(Connection.class,
+                new JdbcProxies.ConnectionHandler(SlowQueryDriver.instrument(raw), stats, System.nanoTime()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        raw.close();
+        if (postgres != null)
+            postgres.close();
+    }
+
+    @Benchmark
+    public long raw() throws SQLException {
+        return roundTrip(raw, next++);
+    }
+
+    @Benchmark
+    public long instrumented() throws SQLException {
+        return roundTrip(instrumented, next++);
+    }
+
+    private static long roundTrip(Connection connection, long value) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SQL)) {
+            statement.setLong(1, value);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : -1;
+            }
+        }
+    }
+
+    /*
+     * JDBC objects answering from memory with one row per query. They are proxies too, so the
+     * stub costs the same on both sides and drops out of the difference.
+     */
+    private static final class StubJdbc {
+
+        static Connection connection() {
+            return stub(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+                case "prepareStatement" -> statement();
+                case "isClosed" -> false;
+                default -> null;
+            });
+        }
+
+        private static PreparedStatement statement() {
+            long[] bound = new long[1];
+
+            return stub(PreparedStatement.class, (proxy, method, args) -> switch (method.getName()) {
+                case "setLong" -> {
+                    bound[0] = (Long) args[1];
+                    yield null;
+                }
+                case "executeQuery" -> resultSet(bound[0] + 1);
+                default -> null;
+            });
+        }
+
+        private static ResultSet resultSet(long value) {
+            boolean[] read = new boolean[1];
+
+            return stub(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+                case "next" -> {
+                    boolean hasRow = !read[0];
+                    read[0] = true;
+                    yield hasRow;
+                }
+                case "getLong" -> value;
+                default -> null;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T stub(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+
+    }
+
+}
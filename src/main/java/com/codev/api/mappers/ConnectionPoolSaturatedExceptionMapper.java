@@ -0,0 +1,20 @@
+package com.codev.api.mappers;
+
+import com.codev.domain.exceptions.database.ConnectionPoolSaturatedException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+public class ConnectionPoolSaturatedExceptionMapper implements ExceptionMapper<ConnectionPoolSaturatedException> {
+
+    @Override
+    public Response toResponse(ConnectionPoolSaturatedException exception) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, 1)
+                .entity(exception.getMessage())
+                .build();
+    }
+
+}
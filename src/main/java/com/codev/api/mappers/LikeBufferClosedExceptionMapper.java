@@ -0,0 +1,20 @@
+package com.codev.api.mappers;
+
+import com.codev.domain.exceptions.solutions.LikeBufferClosedException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+public class LikeBufferClosedExceptionMapper implements ExceptionMapper<LikeBufferClosedException> {
+
+    @Override
+    public Response toResponse(LikeBufferClosedException exception) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, 1)
+                .entity(exception.getMessage())
+                .build();
+    }
+
+}
@@ -3,21 +3,27 @@ package com.codev.api.resource;
 import com.codev.domain.dto.form.CategoryDTOForm;
 import com.codev.domain.dto.view.CategoryDTOView;
 import com.codev.domain.service.CategoryService;
+import com.codev.infraestructure.concurrency.ConnectionBound;
+import com.codev.utils.helpers.JsonResponseCache;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
-import java.util.List;
 import java.util.UUID;
 
 @Path("categories")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @Tag(name = "Category")
+@RunOnVirtualThread
 @RequiredArgsConstructor
 public class CategoryResource {
 
@@ -25,15 +31,20 @@ public class CategoryResource {
 
     @RolesAllowed({"ADMIN", "USER"})
     @GET
-    public Response findAllCategories() {
-        List<CategoryDTOView> categories = categoryService.findAllCategories()
-                .stream().map(CategoryDTOView::new).toList();
+    public Response findAllCategories(@Context Request request) {
+        JsonResponseCache.Entry categories = categoryService.findAllCategoriesAsJson();
+        EntityTag etag = new EntityTag(categories.getEtag());
 
-        return Response.ok(categories).build();
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null)
+            return notModified.build();
+
+        return Response.ok(categories.getJson()).tag(etag).build();
     }
 
     @RolesAllowed({"ADMIN"})
     @POST
+    @ConnectionBound
     public Response createCategory(@Valid CategoryDTOForm categoryDTOForm) {
         return Response.ok(new CategoryDTOView(categoryService.createCategory(categoryDTOForm))).build();
     }
@@ -41,6 +52,7 @@ public class CategoryResource {
     @RolesAllowed({"ADMIN"})
     @PUT
     @Path("/{categoryId}")
+    @ConnectionBound
     public Response updateCategory(
             @PathParam("categoryId") UUID categoryId,
             @Valid CategoryDTOForm categoryDTOForm
@@ -51,6 +63,7 @@ public class CategoryResource {
     @RolesAllowed({"ADMIN"})
     @DELETE
     @Path("/{categoryId}")
+    @ConnectionBound
     public Response deleteCategory(@PathParam("categoryId") UUID categoryId) {
         categoryService.deleteCategory(categoryId);
         return Response.ok().build();
@@ -0,0 +1,95 @@
+package com.codev.api.resource;
+
+import com.codev.domain.dto.view.ChallengeDTOView;
+import com.codev.domain.dto.view.TechnologyDTOView;
+import com.codev.domain.enums.FetchPlan;
+import com.codev.domain.enums.OrderBy;
+import com.codev.domain.model.Challenge;
+import com.codev.domain.service.ChallengeService;
+import com.codev.infraestructure.concurrency.ConnectionBound;
+import com.codev.utils.helpers.ChallengeCursor;
+import com.codev.utils.helpers.VersionTag;
+
+import io.quarkus.arc.properties.UnlessBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Blocking read path of the public challenge catalog, served through Hibernate ORM. Replaced by
+ * {@link ReactiveChallengeCatalogResource} when the build enables codev.challenges.reactive-read.enabled.
+ */
+@Path("challenges")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Challenge")
+@RunOnVirtualThread
+@RequiredArgsConstructor
+@UnlessBuildProperty(name = "codev.challenges.reactive-read.enabled", stringValue = "true", enableIfMissing = true)
+public class ChallengeCatalogResource {
+
+    private final ChallengeService challengeService;
+
+    @PermitAll
+    @GET
+    @ConnectionBound
+    public Response findAllChallengeWithPaging(
+            @QueryParam("page") Integer page,
+            @QueryParam("size") Integer size,
+            @QueryParam("category") UUID categoryId,
+            @QueryParam("orderBy") @DefaultValue("ASC") OrderBy orderBy,
+            @QueryParam("cursor") String cursor
+    ){
+        page = page != null ? page : 0;
+        size = size != null ? size : 10;
+
+        ChallengeCursor challengeCursor;
+        try {
+            challengeCursor = cursor != null && !cursor.isBlank() ? ChallengeCursor.decode(cursor, orderBy) : null;
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        List<ChallengeDTOView> challenges = challengeService.findAllChallengesWithPaging(page, size, categoryId, orderBy, challengeCursor);
+
+        Response.ResponseBuilder response = Response.ok(challenges);
+
+        ChallengeCursor nextCursor = ChallengeCursor.next(challenges, size, orderBy);
+        if (nextCursor != null)
+            response.header(ChallengeResource.NEXT_CURSOR_HEADER, nextCursor.encode());
+
+        return response.build();
+    }
+
+    @RolesAllowed({"ADMIN", "USER"})
+    @GET
+    @Path("/{challengeId}")
+    @ConnectionBound
+    public Response findChallengeById(@PathParam("challengeId") UUID challengeId) {
+        Challenge challenge;
+        try {
+            challenge = challengeService.findById(challengeId, FetchPlan.CARD);
+        } catch (EntityNotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND).entity(e.getMessage()).build();
+        }
+
+        Set<TechnologyDTOView> technologiesDTOView = challenge.getTechnologies().stream()
+            .map(TechnologyDTOView::new).collect(Collectors.toSet());
+
+        ChallengeDTOView challengeDTOView = new ChallengeDTOView(challenge, challenge.getCategory(), technologiesDTOView);
+
+        return Response.ok(challengeDTOView).tag(VersionTag.of(challengeDTOView.getVersion())).build();
+    }
+
+}
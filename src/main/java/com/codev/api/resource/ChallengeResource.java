@@ -5,81 +5,121 @@ import com.codev.domain.dto.form.SolutionDTOForm;
 import com.codev.domain.dto.view.ChallengeDTOView;
 import com.codev.domain.dto.view.SolutionDTOView;
 import com.codev.domain.dto.view.TechnologyDTOView;
-import com.codev.domain.enums.OrderBy;
+import com.codev.domain.enums.ChallengeStatus;
 import com.codev.domain.exceptions.challenges.CategoryAlreadyExistsInChallenge;
 import com.codev.domain.exceptions.challenges.JoinNotAcceptedException;
 import com.codev.domain.exceptions.challenges.UnjoinNotAcceptedException;
 import com.codev.domain.model.Challenge;
+import com.codev.domain.service.ChallengeImportService;
 import com.codev.domain.service.ChallengeService;
 import com.codev.domain.service.SolutionService;
+import com.codev.infraestructure.concurrency.ConnectionBound;
+import com.codev.utils.helpers.ChallengeSearchCursor;
+import com.codev.utils.helpers.ChallengeSearchPage;
+import com.codev.utils.helpers.VersionTag;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
-import java.lang.reflect.InvocationTargetException;
+import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Path("challenges")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @Tag(name = "Challenge")
+@RunOnVirtualThread
 @RequiredArgsConstructor
 public class ChallengeResource {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ChallengeService challengeService;
 
     private final SolutionService solutionService;
 
+    private final ChallengeImportService challengeImportService;
+
     @RolesAllowed({"ADMIN", "USER"})
     @GET
     @Path("/{challengeId}/technologies")
+    @ConnectionBound
     public Response findAllTechnologiesByChallengeId(@PathParam("challengeId") UUID challengeId) {
-        return Response.ok(challengeService.findAllTechnologiesByChallengeId(challengeId)).build();
+        List<TechnologyDTOView> technologies = challengeService.findAllTechnologiesByChallengeId(challengeId).stream()
+            .map(TechnologyDTOView::new)
+            .toList();
+
+        return Response.ok(technologies).build();
     }
 
+
     @PermitAll
     @GET
-    public Response findAllChallengeWithPaging(
-            @QueryParam("page") Integer page,
-            @QueryParam("size") Integer size,
+    @Path("/search")
+    @ConnectionBound
+    public Response searchChallenges(
+            @QueryParam("q") String query,
             @QueryParam("category") UUID categoryId,
-            @QueryParam("orderBy") @DefaultValue("ASC") OrderBy orderBy
-    ){
-        page = page != null ? page : 0;
+            @QueryParam("status") ChallengeStatus status,
+            @QueryParam("size") Integer size,
+            @QueryParam("cursor") String cursor
+    ) {
         size = size != null ? size : 10;
 
-        Set<ChallengeDTOView> challenges = challengeService.findAllChallengesWithPaging    (page, size, categoryId, orderBy);
+        if (query == null || query.isBlank())
+            return Response.status(Response.Status.BAD_REQUEST).entity("Query must not be blank.").build();
+
+        ChallengeSearchPage searchPage;
+        try {
+            ChallengeSearchCursor searchCursor = cursor != null && !cursor.isBlank() ? ChallengeSearchCursor.decode(cursor) : null;
+            searchPage = challengeService.searchChallenges(query, categoryId, status, searchCursor, size);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        Response.ResponseBuilder response = Response.ok(searchPage.getChallenges());
+
+        if (searchPage.getNextCursor() != null)
+            response.header(NEXT_CURSOR_HEADER, searchPage.getNextCursor());
 
-        return Response.ok(challenges).build();
+        return response.build();
     }
 
+
     @RolesAllowed({"ADMIN", "USER"})
     @GET
-    @Path("/{challengeId}")
-    public Response findChallengeById(@PathParam("challengeId") UUID challengeId) {
-        Challenge challenge = challengeService.findById(challengeId);
-
-        Set<TechnologyDTOView> technologiesDTOView = challenge.getTechnologies().stream()
-            .map(TechnologyDTOView::new).collect(Collectors.toSet());
+    @Path("/{challengeId}/leaderboard")
+    public Response findLeaderboard(
+            @PathParam("challengeId") UUID challengeId,
+            @QueryParam("limit") Integer limit
+    ) {
+        limit = limit != null ? limit : 10;
 
-        ChallengeDTOView challengeDTOView = new ChallengeDTOView(challenge, challenge.getCategory(), technologiesDTOView);
-        
-        return Response.ok(challengeDTOView).build();
+        try {
+            return Response.ok(solutionService.findLeaderboard(challengeId, limit)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        } catch (EntityNotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND).entity(e.getMessage()).build();
+        }
     }
 
     @RolesAllowed({"ADMIN", "USER"})
     @GET
     @Path("/{challengeId}/solutions")
+    @ConnectionBound
     public Response findAllSolutionsByChallengeId(
             @PathParam("challengeId") UUID challengeId,
             @HeaderParam("X-User-ID") UUID userId,
@@ -95,14 +135,28 @@ public class ChallengeResource {
 
     @RolesAllowed({"ADMIN"})
     @POST
+    @ConnectionBound
     public Response createChallenge(@Valid ChallengeDTOForm challengeDTOForm) {
         ChallengeDTOView challengeDTOView = challengeService.createChallenge(challengeDTOForm);
         return Response.ok(challengeDTOView).status(Response.Status.CREATED).build();
     }
 
+    @RolesAllowed({"ADMIN"})
+    @POST
+    @Path("/bulk")
+    @ConnectionBound
+    public Response importChallenges(InputStream challenges) {
+        try {
+            return Response.ok(challengeImportService.importChallenges(challenges)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+    }
+
     @RolesAllowed({"USER"})
     @POST
     @Path("{challengeId}/solutions")
+    @ConnectionBound
     public Response createSolution(
             @PathParam("challengeId") UUID challengeId,
             @Valid SolutionDTOForm solutionDTOForm
@@ -113,6 +167,7 @@ public class ChallengeResource {
     @RolesAllowed({"USER"})
     @POST
     @Path("{challengeId}/join-challenge")
+    @ConnectionBound
     public Response joinChallenge(
             @PathParam("challengeId") UUID challengeId,
             @HeaderParam("X-User-ID") UUID participantId
@@ -128,6 +183,7 @@ public class ChallengeResource {
     @RolesAllowed({"ADMIN"})
     @POST
     @Path("/{challengeId}/categories/{categoryId}")
+    @ConnectionBound
     public Response addCategoryInChallenge(
             @PathParam("challengeId") UUID challengeId,
             @PathParam("categoryId") UUID categoryId
@@ -144,21 +200,33 @@ public class ChallengeResource {
     @RolesAllowed({"ADMIN"})
     @PUT
     @Path("/{challengeId}")
+    @ConnectionBound
     public Response updateChallenge(
             @PathParam("challengeId") UUID challengeId,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
             @Valid ChallengeDTOForm challengeDTOForm
     ){
+        Long expectedVersion;
         try {
-            Challenge challenge = challengeService.updateChallenge(challengeId, challengeDTOForm);
-            return Response.ok(new ChallengeDTOView(challenge)).build();
-        } catch (InvocationTargetException | IllegalAccessException e) {
-            return Response.ok(e.getStackTrace()).status(Response.Status.BAD_REQUEST).build();
+            expectedVersion = VersionTag.expectedVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        try {
+            Challenge challenge = challengeService.updateChallenge(challengeId, challengeDTOForm, expectedVersion);
+            return Response.ok(new ChallengeDTOView(challenge)).tag(VersionTag.of(challenge.getVersion())).build();
+        } catch (OptimisticLockException e) {
+            return Response.status(Response.Status.PRECONDITION_FAILED).entity(e.getMessage()).build();
+        } catch (EntityNotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND).entity(e.getMessage()).build();
         }
     }
 
     @RolesAllowed({"USER"})
     @DELETE
     @Path("{challengeId}/unjoin-challenge")
+    @ConnectionBound
     public Response unjoinChallenge(
             @PathParam("challengeId") UUID challengeId,
             @HeaderParam("X-User-ID") UUID participantId
@@ -174,6 +242,7 @@ public class ChallengeResource {
     @RolesAllowed({"ADMIN"})
     @DELETE
     @Path("/{challengeId}")
+    @ConnectionBound
     public Response deactivateChallenge(@PathParam("challengeId") UUID challengeId){
         challengeService.deactivateChallenge(challengeId);
         return Response.ok().build();
@@ -182,6 +251,7 @@ public class ChallengeResource {
     @RolesAllowed({"ADMIN"})
     @DELETE
     @Path("/{challengeId}/categories")
+    @ConnectionBound
     public Response removeCategoryInChallenge(@PathParam("challengeId") UUID challengeId){
         try {
             challengeService.removeCategoryInChallenge(challengeId);
@@ -0,0 +1,49 @@
+package com.codev.api.resource;
+
+import com.codev.infraestructure.jdbc.JdbcMetrics;
+import com.codev.infraestructure.jdbc.SlowQueryRecorder;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+/**
+ * Diagnostics of the database access, read from memory without touching the pool.
+ */
+@Path("admin/database")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Database")
+@RequiredArgsConstructor
+public class DatabaseResource {
+
+    private final JdbcMetrics jdbcMetrics;
+
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    @RolesAllowed({"ADMIN"})
+    @GET
+    @Path("/metrics")
+    public Response findJdbcMetrics() {
+        return Response.ok(jdbcMetrics.snapshot()).build();
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @GET
+    @Path("/slow-queries")
+    public Response findSlowQueries(
+            @QueryParam("limit") @DefaultValue("50") int limit,
+            @QueryParam("callSite") String callSite
+    ) {
+        if (limit < 1)
+            return Response.status(Response.Status.BAD_REQUEST).entity("Limit must be a positive integer.").build();
+
+        return Response.ok(slowQueryRecorder.findRecent(limit, callSite)).build();
+    }
+
+}
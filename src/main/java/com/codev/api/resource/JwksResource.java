@@ -0,0 +1,27 @@
+package com.codev.api.resource;
+
+import com.codev.api.security.token.TokenService;
+import jakarta.annotation.security.PermitAll;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+@Path(".well-known/jwks.json")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Auth")
+@RequiredArgsConstructor
+public class JwksResource {
+
+    private final TokenService tokenService;
+
+    @PermitAll
+    @GET
+    public Response findAllSigningKeys() {
+        return Response.ok(tokenService.getJwks()).build();
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.codev.api.resource;
+
+import com.codev.domain.enums.OrderBy;
+import com.codev.domain.service.ReactiveChallengeService;
+import com.codev.utils.helpers.ChallengeCursor;
+import com.codev.utils.helpers.VersionTag;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking read path of the public challenge catalog. The methods return {@link Uni}, so they
+ * run on the event loop and never take a JDBC connection, and answer with the same JSON and
+ * headers as {@link ChallengeCatalogResource}, which it replaces when the build enables
+ * codev.challenges.reactive-read.enabled.
+ */
+@Path("challenges")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Challenge")
+@RequiredArgsConstructor
+@IfBuildProperty(name = "codev.challenges.reactive-read.enabled", stringValue = "true")
+public class ReactiveChallengeCatalogResource {
+
+    private final ReactiveChallengeService reactiveChallengeService;
+
+    @PermitAll
+    @GET
+    public Uni<Response> findAllChallengeWithPaging(
+            @QueryParam("page") Integer page,
+            @QueryParam("size") Integer size,
+            @QueryParam("category") UUID categoryId,
+            @QueryParam("orderBy") @DefaultValue("ASC") OrderBy orderBy,
+            @QueryParam("cursor") String cursor
+    ){
+        int currentPage = page != null ? page : 0;
+        int pageSize = size != null ? size : 10;
+
+        ChallengeCursor challengeCursor;
+        try {
+            challengeCursor = cursor != null && !cursor.isBlank() ? ChallengeCursor.decode(cursor, orderBy) : null;
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build());
+        }
+
+        return reactiveChallengeService.findAllChallengesWithPaging(currentPage, pageSize, categoryId, orderBy, challengeCursor)
+            .onItem().transform(challenges -> {
+                Response.ResponseBuilder response = Response.ok(challenges);
+
+                ChallengeCursor nextCursor = ChallengeCursor.next(challenges, pageSize, orderBy);
+                if (nextCursor != null)
+                    response.header(ChallengeResource.NEXT_CURSOR_HEADER, nextCursor.encode());
+
+                return response.build();
+            });
+    }
+
+    @RolesAllowed({"ADMIN", "USER"})
+    @GET
+    @Path("/{challengeId}")
+    public Uni<Response> findChallengeById(@PathParam("challengeId") UUID challengeId) {
+        return reactiveChallengeService.findById(challengeId)
+            .onItem().transform(challenge -> Response.ok(challenge).tag(VersionTag.of(challenge.getVersion())).build())
+            .onFailure(EntityNotFoundException.class)
+            .recoverWithItem(e -> Response.status(Response.Status.NOT_FOUND).entity(e.getMessage()).build());
+    }
+
+}
@@ -3,6 +3,8 @@ package com.codev.api.resource;
 import com.codev.domain.exceptions.solutions.LikeNotAcceptedException;
 import com.codev.domain.exceptions.solutions.SolutionNotDeletedException;
 import com.codev.domain.service.SolutionService;
+import com.codev.infraestructure.concurrency.ConnectionBound;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
@@ -17,6 +19,7 @@ import java.util.UUID;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @Tag(name = "Solution")
+@RunOnVirtualThread
 @RequiredArgsConstructor
 public class SolutionResource {
 
@@ -25,6 +28,7 @@ public class SolutionResource {
     @RolesAllowed({"USER"})
     @POST
     @Path("/{solutionId}/add-like")
+    @ConnectionBound
     public Response addLike(
             @PathParam("solutionId") UUID solutionId,
             @HeaderParam("X-User-ID") UUID userId
@@ -42,6 +46,7 @@ public class SolutionResource {
     @RolesAllowed({"USER"})
     @DELETE
     @Path("/{solutionId}")
+    @ConnectionBound
     public Response deleteSolution(
             @PathParam("solutionId") UUID solutionId,
             @HeaderParam("X-User-ID") UUID authorId
@@ -58,6 +63,7 @@ public class SolutionResource {
     @RolesAllowed({"USER"})
     @DELETE
     @Path("/{solutionId}/remove-like")
+    @ConnectionBound
     public Response removeLike(
             @PathParam("solutionId") UUID solutionId,
             @HeaderParam("X-User-ID") UUID userId
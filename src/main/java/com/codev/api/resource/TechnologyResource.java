@@ -3,21 +3,27 @@ package com.codev.api.resource;
 import com.codev.domain.dto.form.TechnologyDTOForm;
 import com.codev.domain.dto.view.TechnologyDTOView;
 import com.codev.domain.service.TechnologyService;
+import com.codev.infraestructure.concurrency.ConnectionBound;
+import com.codev.utils.helpers.JsonResponseCache;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
-import java.util.List;
 import java.util.UUID;
 
 @Path("technologies")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @Tag(name = "Technology")
+@RunOnVirtualThread
 @RequiredArgsConstructor
 public class TechnologyResource {
 
@@ -25,15 +31,20 @@ public class TechnologyResource {
 
     @RolesAllowed({"ADMIN", "USER"})
     @GET
-    public Response findAllTechnologies() {
-        List<TechnologyDTOView> technologies = technologyService.findAllTechnologies()
-            .stream().map(TechnologyDTOView::new).toList();
-        
-        return Response.ok(technologies).build();
+    public Response findAllTechnologies(@Context Request request) {
+        JsonResponseCache.Entry technologies = technologyService.findAllTechnologiesAsJson();
+        EntityTag etag = new EntityTag(technologies.getEtag());
+
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null)
+            return notModified.build();
+
+        return Response.ok(technologies.getJson()).tag(etag).build();
     }
 
     @RolesAllowed({"ADMIN"})
     @POST
+    @ConnectionBound
     public Response createTechnology(@Valid TechnologyDTOForm technologyDTOForm) {
         return Response.ok(new TechnologyDTOView(technologyService.createTechnology(technologyDTOForm))).build();
     }
@@ -41,6 +52,7 @@ public class TechnologyResource {
     @RolesAllowed({"ADMIN"})
     @PUT
     @Path("/{technologyId}")
+    @ConnectionBound
     public Response updateTechnology(
             @PathParam("technologyId") UUID technologyId,
             @Valid TechnologyDTOForm technologyDTOForm
@@ -51,6 +63,7 @@ public class TechnologyResource {
     @RolesAllowed({"ADMIN"})
     @DELETE
     @Path("/{technologyId}")
+    @ConnectionBound
     public Response deleteTechnology(@PathParam("technologyId") UUID technologyId) {
         technologyService.deleteTechnology(technologyId);
         return Response.ok().build();
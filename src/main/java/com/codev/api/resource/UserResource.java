@@ -4,24 +4,36 @@ import com.codev.api.security.auth.AuthRequest;
 import com.codev.domain.dto.form.UserDTOForm;
 import com.codev.domain.dto.form.UserFiltersDTOForm;
 import com.codev.domain.dto.view.UserDTOView;
+import com.codev.domain.enums.SearchMode;
 import com.codev.domain.exceptions.token.GenerateTokenExcepetion;
+import com.codev.domain.exceptions.users.LoginThrottledException;
+import com.codev.domain.exceptions.users.PasswordHashingBusyException;
 import com.codev.domain.exceptions.users.UnathorizedLoginMessage;
 import com.codev.domain.exceptions.users.UserDeactivatedException;
-import com.codev.domain.exceptions.users.UserDoesNotExistResponse;
 import com.codev.domain.exceptions.users.UserHasAdminRoleException;
 import com.codev.domain.model.User;
 import com.codev.domain.service.UserService;
+import com.codev.infraestructure.concurrency.ConnectionBound;
+import com.codev.infraestructure.concurrency.ConnectionPoolGate;
+import com.codev.utils.helpers.VersionTag;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.vertx.core.http.HttpServerRequest;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.persistence.NoResultException;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import lombok.RequiredArgsConstructor;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,33 +41,79 @@ import java.util.UUID;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @Tag(name = "User")
+@RunOnVirtualThread
 @RequiredArgsConstructor
 public class UserResource {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final String NDJSON = "application/x-ndjson";
+
     private final UserService userService;
 
+    private final ConnectionPoolGate connectionPoolGate;
+
     @RolesAllowed({"ADMIN"})
     @GET
+    @ConnectionBound
     public Response findAllUsers(
-            @QueryParam("startsWith") @DefaultValue("") String startsWith
+            @QueryParam("startsWith") @DefaultValue("") String startsWith,
+            @QueryParam("mode") @DefaultValue("SUBSTRING") SearchMode mode,
+            @QueryParam("size") Integer size,
+            @QueryParam("cursor") String cursor
     ) {
+        size = size != null ? size : 10;
+
         try {
-            UserFiltersDTOForm filters = new UserFiltersDTOForm(startsWith);
-            List<UserDTOView> users = userService.findAllUsers(filters);
-            return Response.ok(users).build();
+            UserFiltersDTOForm filters = new UserFiltersDTOForm(startsWith, mode);
+            UUID userCursor = cursor != null && !cursor.isBlank() ? UUID.fromString(cursor) : null;
+            List<UserDTOView> users = userService.findAllUsers(filters, userCursor, size);
+
+            Response.ResponseBuilder response = Response.ok(users);
+            if (!filters.hasSearchTerm() && !users.isEmpty() && users.size() == size)
+                response.header(NEXT_CURSOR_HEADER, users.get(users.size() - 1).getId());
+
+            return response.build();
         } catch (Exception error) {
             error.printStackTrace();
             return Response.ok(error).status(Response.Status.BAD_REQUEST).build();
         }
     }
 
+    @RolesAllowed({"ADMIN"})
+    @GET
+    @Path("/export")
+    @Produces(NDJSON)
+    public Response exportUsers(
+            @QueryParam("startsWith") @DefaultValue("") String startsWith,
+            @QueryParam("mode") @DefaultValue("SUBSTRING") SearchMode mode
+    ) {
+        UserFiltersDTOForm filters = new UserFiltersDTOForm(startsWith, mode);
+
+        // The connection is held while the body is written, after this method has returned,
+        // so the permit is taken and released around the stream rather than the call
+        StreamingOutput stream = output -> {
+            connectionPoolGate.acquire();
+            try {
+                userService.exportUsers(filters, output);
+            } catch (SQLException e) {
+                throw new IOException("Unable to export users", e);
+            } finally {
+                connectionPoolGate.release();
+            }
+        };
+
+        return Response.ok(stream).build();
+    }
+
     @RolesAllowed({"ADMIN", "USER"})
     @GET
     @Path("/{userId}")
+    @ConnectionBound
     public Response findUserById(@PathParam("userId") UUID userId) {
         try {
             User user = userService.findUserById(userId);
-            return Response.ok(new UserDTOView(user)).build();
+            return Response.ok(new UserDTOView(user)).tag(VersionTag.of(user.getVersion())).build();
         } catch (UserDeactivatedException | EntityNotFoundException e) {
             return Response.status(Response.Status.NOT_FOUND).entity(e.getMessage()).build();
         }
@@ -63,10 +121,13 @@ public class UserResource {
 
     @PermitAll
     @POST
+    @ConnectionBound
     public Response createUser(@Valid UserDTOForm userDTOForm) {
         try {
             UserDTOView userDTOView = userService.createUser(userDTOForm);
             return Response.ok(userDTOView).status(Response.Status.CREATED).build();
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusy(e);
         } catch (Exception e) {
             e.printStackTrace();
             return Response.ok(e).status(Response.Status.BAD_REQUEST).build();
@@ -76,6 +137,7 @@ public class UserResource {
     @RolesAllowed({"ADMIN"})
     @POST
     @Path("/{userId}/add-admin-role")
+    @ConnectionBound
     public Response addAdminRoleInUser(@PathParam("userId") UUID userId) {
         try {
             UserDTOView userDTOView = userService.addAdminRoleInUser(userId);
@@ -88,27 +150,54 @@ public class UserResource {
     @PermitAll
     @POST
     @Path("/login")
-    public Response login(AuthRequest authRequest) {
+    public Response login(AuthRequest authRequest, @Context HttpServerRequest request) {
         try {
-            return Response.ok(userService.login(authRequest)).build();
+            return Response.ok(userService.login(authRequest, request.remoteAddress().host())).build();
         } catch (UnathorizedLoginMessage e) {
             return Response.ok(e).status(Response.Status.UNAUTHORIZED).build();
         } catch (GenerateTokenExcepetion e) {
             return Response.ok(e).status(Response.Status.INTERNAL_SERVER_ERROR).build();
-        } catch (NoResultException e) {
-            return Response.ok(new UserDoesNotExistResponse()).status(Response.Status.NOT_FOUND).build();
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusy(e);
+        } catch (LoginThrottledException e) {
+            return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, e.getRetryAfterSeconds())
+                    .entity(e.getMessage())
+                    .build();
         }
     }
 
+    @RolesAllowed({"ADMIN"})
+    @GET
+    @Path("/login/metrics")
+    public Response findLoginAdmissionStats() {
+        return Response.ok(userService.getLoginAdmissionStats()).build();
+    }
+
     @RolesAllowed({"ADMIN", "USER"})
     @PUT
     @Path("/{userId}")
+    @ConnectionBound
     public Response updateUser(
             @PathParam("userId") UUID userId,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
             @Valid UserDTOForm userDTOForm) {
+        Long expectedVersion;
         try {
-            UserDTOView userDTOView = userService.updateUser(userId, userDTOForm);
-            return Response.ok(userDTOView).build();
+            expectedVersion = VersionTag.expectedVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        try {
+            User user = userService.updateUser(userId, userDTOForm, expectedVersion);
+            return Response.ok(new UserDTOView(user)).tag(VersionTag.of(user.getVersion())).build();
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusy(e);
+        } catch (OptimisticLockException e) {
+            return Response.status(Response.Status.PRECONDITION_FAILED).entity(e.getMessage()).build();
+        } catch (EntityNotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND).entity(e.getMessage()).build();
         } catch (Exception e) {
             e.printStackTrace();
             return Response.status(Response.Status.BAD_REQUEST).build();
@@ -118,6 +207,7 @@ public class UserResource {
     @RolesAllowed({"ADMIN", "USER"})
     @DELETE
     @Path("/{userId}")
+    @ConnectionBound
     public Response deactivateUser(@PathParam("userId") UUID userId) {
         try {
             userService.deactivateUser(userId);
@@ -133,4 +223,11 @@ public class UserResource {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()).build();
         }
     }
+
+    private Response passwordHashingBusy(PasswordHashingBusyException e) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, 1)
+                .entity(e.getMessage())
+                .build();
+    }
 }
\ No newline at end of file
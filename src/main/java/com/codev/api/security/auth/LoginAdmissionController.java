@@ -0,0 +1,120 @@
+package com.codev.api.security.auth;
+
+import com.codev.domain.dto.view.LoginAdmissionDTOView;
+import com.codev.domain.exceptions.users.LoginThrottledException;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control in front of the login path. Attempts are first charged to per-email and
+ * per-IP token buckets, then need one of a fixed number of permits, waiting only briefly for one.
+ * Everything that does not get through is rejected before it touches PBKDF2 or the database.
+ */
+@ApplicationScoped
+public class LoginAdmissionController {
+
+    private final TokenBucketStore emailBuckets;
+
+    private final TokenBucketStore ipBuckets;
+
+    private final Semaphore permits;
+
+    private final int maxConcurrent;
+
+    private final long queueTimeoutMs;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder admitted = new LongAdder();
+
+    private final LongAdder rejectedByEmail = new LongAdder();
+
+    private final LongAdder rejectedByIp = new LongAdder();
+
+    private final LongAdder rejectedByConcurrency = new LongAdder();
+
+    public LoginAdmissionController(
+            @ConfigProperty(name = "codev.login.max-concurrent", defaultValue = "16") int maxConcurrent,
+            @ConfigProperty(name = "codev.login.queue-timeout-ms", defaultValue = "200") long queueTimeoutMs,
+            @ConfigProperty(name = "codev.login.email.capacity", defaultValue = "5") int emailCapacity,
+            @ConfigProperty(name = "codev.login.email.refill-per-minute", defaultValue = "5") int emailRefillPerMinute,
+            @ConfigProperty(name = "codev.login.ip.capacity", defaultValue = "30") int ipCapacity,
+            @ConfigProperty(name = "codev.login.ip.refill-per-minute", defaultValue = "30") int ipRefillPerMinute,
+            @ConfigProperty(name = "codev.login.buckets.stripes", defaultValue = "64") int stripes,
+            @ConfigProperty(name = "codev.login.buckets.max-per-stripe", defaultValue = "1024") int maxBucketsPerStripe
+    ) {
+        this.maxConcurrent = maxConcurrent;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.permits = new Semaphore(maxConcurrent);
+        this.emailBuckets = new TokenBucketStore(stripes, maxBucketsPerStripe, emailCapacity, emailRefillPerMinute);
+        this.ipBuckets = new TokenBucketStore(stripes, maxBucketsPerStripe, ipCapacity, ipRefillPerMinute);
+    }
+
+    public Permit admit(String email, String clientAddress) throws LoginThrottledException {
+        if (clientAddress != null) {
+            long retryAfter = ipBuckets.tryConsume(clientAddress);
+            if (retryAfter > 0) {
+                rejectedByIp.increment();
+                throw new LoginThrottledException(retryAfter);
+            }
+        }
+
+        if (email != null) {
+            long retryAfter = emailBuckets.tryConsume(email.trim().toLowerCase(Locale.ROOT));
+            if (retryAfter > 0) {
+                rejectedByEmail.increment();
+                throw new LoginThrottledException(retryAfter);
+            }
+        }
+
+        queued.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            queued.decrementAndGet();
+        }
+
+        if (!acquired) {
+            rejectedByConcurrency.increment();
+            throw new LoginThrottledException(1);
+        }
+
+        admitted.increment();
+        return new Permit();
+    }
+
+    public LoginAdmissionDTOView getStats() {
+        return new LoginAdmissionDTOView(
+                queued.get(),
+                maxConcurrent - permits.availablePermits(),
+                admitted.sum(),
+                rejectedByEmail.sum(),
+                rejectedByIp.sum(),
+                rejectedByConcurrency.sum()
+        );
+    }
+
+    public class Permit implements AutoCloseable {
+
+        private boolean released;
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                permits.release();
+            }
+        }
+    }
+
+}
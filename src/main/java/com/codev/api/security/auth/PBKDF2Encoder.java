@@ -1,29 +1,184 @@
 package com.codev.api.security.auth;
 
-import jakarta.enterprise.context.RequestScoped;
+import com.codev.domain.exceptions.users.PasswordHashingBusyException;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
-import javax.crypto.spec.PBEKeySpec;
+import java.util.concurrent.*;
 
-@RequestScoped
+/**
+ * Hashes passwords as {@code $pbkdf2-sha512$<iterations>$<salt>$<hash>}, with a random salt per
+ * user, so the parameters of each hash travel with it and can be raised later. Hashes without
+ * that prefix are the legacy ones derived with the global secret as salt and are still verified.
+ * Derivations run on a bounded pool so a login flood cannot take every worker thread.
+ * A stored hash that cannot be parsed is treated as a password that does not match.
+ */
+@ApplicationScoped
 public class PBKDF2Encoder {
 
-    @ConfigProperty(name = "com.ard333.quarkusjwt.password.secret")  private String secret;
-    @ConfigProperty(name = "com.ard333.quarkusjwt.password.iteration")  private Integer iteration;
-    @ConfigProperty(name = "com.ard333.quarkusjwt.password.keylength")  private Integer keylength;
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA512";
+
+    private static final String PREFIX = "$pbkdf2-sha512$";
+
+    private static final int SALT_LENGTH = 16;
+
+    private static final ThreadLocal<SecretKeyFactory> KEY_FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final String legacySecret;
+
+    private final int legacyIterations;
+
+    private final int keyLength;
+
+    private final int iterations;
+
+    private final long timeoutMs;
+
+    private final ExecutorService hashingExecutor;
+
+    private final byte[] dummySalt = new byte[SALT_LENGTH];
+
+    public PBKDF2Encoder(
+            @ConfigProperty(name = "com.ard333.quarkusjwt.password.secret") String legacySecret,
+            @ConfigProperty(name = "com.ard333.quarkusjwt.password.iteration") Integer legacyIterations,
+            @ConfigProperty(name = "com.ard333.quarkusjwt.password.keylength") Integer keyLength,
+            @ConfigProperty(name = "codev.password.iterations", defaultValue = "210000") Integer iterations,
+            @ConfigProperty(name = "codev.password.hashing.threads", defaultValue = "0") Integer threads,
+            @ConfigProperty(name = "codev.password.hashing.queue-size", defaultValue = "64") Integer queueSize,
+            @ConfigProperty(name = "codev.password.hashing.timeout-ms", defaultValue = "5000") Long timeoutMs
+    ) {
+        this.legacySecret = legacySecret;
+        this.legacyIterations = legacyIterations;
+        this.keyLength = keyLength;
+        this.iterations = iterations;
+        this.timeoutMs = timeoutMs;
+        secureRandom.nextBytes(dummySalt);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.hashingExecutor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    public String encode(CharSequence cs) throws PasswordHashingBusyException {
+        byte[] salt = new byte[SALT_LENGTH];
+        secureRandom.nextBytes(salt);
+
+        byte[] hash = derive(cs, salt, iterations);
+
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    public boolean matches(CharSequence cs, String encodedPassword) throws PasswordHashingBusyException {
+        if (encodedPassword == null)
+            return false;
+
+        byte[] expected;
+        byte[] salt;
+        int hashIterations;
+
+        try {
+            if (encodedPassword.startsWith(PREFIX)) {
+                String[] parts = encodedPassword.substring(PREFIX.length()).split("\\$");
+                if (parts.length != 3)
+                    return false;
+
+                Base64.Decoder decoder = Base64.getDecoder();
+                hashIterations = Integer.parseInt(parts[0]);
+                salt = decoder.decode(parts[1]);
+                expected = decoder.decode(parts[2]);
+            } else {
+                hashIterations = legacyIterations;
+                salt = legacySecret.getBytes(StandardCharsets.UTF_8);
+                expected = Base64.getDecoder().decode(encodedPassword);
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64 or not a number: a corrupt row must fail the login, not the request
+            return false;
+        }
+
+        if (hashIterations <= 0 || salt.length == 0 || expected.length == 0)
+            return false;
+
+        return MessageDigest.isEqual(expected, derive(cs, salt, hashIterations));
+    }
+
+    /**
+     * Runs the derivation a current hash costs and never matches, so a login for an email without
+     * a user takes as long as one with a wrong password and does not reveal which emails exist.
+     */
+    public boolean matchesNone(CharSequence cs) throws PasswordHashingBusyException {
+        derive(cs, dummySalt, iterations);
+        return false;
+    }
+
+    /**
+     * Whether a verified hash was made with other parameters than the current ones and should be
+     * replaced while the plain password is at hand.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return !encodedPassword.startsWith(PREFIX + iterations + "$");
+    }
+
+    private byte[] derive(CharSequence cs, byte[] salt, int iterations) throws PasswordHashingBusyException {
+        char[] password = cs.toString().toCharArray();
+
+        Future<byte[]> derivation;
+        try {
+            derivation = hashingExecutor.submit(() -> {
+                PBEKeySpec keySpec = new PBEKeySpec(password, salt, iterations, keyLength);
+                try {
+                    return KEY_FACTORY.get().generateSecret(keySpec).getEncoded();
+                } catch (InvalidKeySpecException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    keySpec.clearPassword();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException(e);
+        }
 
-    public String encode(CharSequence cs) {
         try {
-            byte[] result = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512")
-                    .generateSecret(new PBEKeySpec(cs.toString().toCharArray(), secret.getBytes(), iteration, keylength))
-                    .getEncoded();
-            return Base64.getEncoder().encodeToString(result);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new RuntimeException(e);
+            return derivation.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            derivation.cancel(true);
+            throw new PasswordHashingBusyException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
         }
     }
 }
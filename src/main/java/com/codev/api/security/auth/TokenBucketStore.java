@@ -0,0 +1,83 @@
+package com.codev.api.security.auth;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets keyed by an identity (email, IP...). Keys are spread over lock stripes so
+ * unrelated identities do not contend, and each stripe evicts its least recently used buckets,
+ * which keeps memory bounded under a flood of random identities.
+ */
+public class TokenBucketStore {
+
+    private final Stripe[] stripes;
+
+    private final double capacity;
+
+    private final double refillPerNano;
+
+    public TokenBucketStore(int stripeCount, int maxBucketsPerStripe, int capacity, int refillPerMinute) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerMinute / 60_000_000_000d;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(maxBucketsPerStripe);
+        }
+    }
+
+    /**
+     * Takes one token for the key and returns 0, or returns how many seconds until a token is
+     * available without taking any.
+     */
+    public long tryConsume(String key) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        long now = System.nanoTime();
+
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.computeIfAbsent(key, k -> new Bucket(capacity, now));
+
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilledAt) * refillPerNano);
+            bucket.refilledAt = now;
+
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+
+            return (long) Math.ceil((1 - bucket.tokens) / refillPerNano / 1_000_000_000d);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Map<String, Bucket> buckets;
+
+        private Stripe(int maxBuckets) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxBuckets;
+                }
+            };
+        }
+    }
+
+    private static class Bucket {
+
+        private double tokens;
+
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.codev.api.security.token;
+
+import io.smallrye.jwt.auth.principal.DefaultJWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.DefaultJWTTokenParser;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import org.jose4j.jwt.consumer.JwtContext;
+import org.jose4j.keys.resolvers.VerificationKeyResolver;
+import org.jose4j.lang.UnresolvableKeyException;
+
+import java.security.interfaces.RSAPublicKey;
+
+/**
+ * Verifies incoming tokens against the keyring of {@link TokenService} instead of a key configured
+ * once at startup, so tokens signed before and after a rotation of the signing key are both
+ * accepted. Everything else (algorithm, expiry, groups) is still checked by the smallrye parser
+ * with the mp.jwt.* settings.
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+public class KeyringJWTCallerPrincipalFactory extends JWTCallerPrincipalFactory {
+
+    private final KeyringTokenParser parser;
+
+    public KeyringJWTCallerPrincipalFactory(TokenService tokenService) {
+        this.parser = new KeyringTokenParser(tokenService);
+    }
+
+    @Override
+    public JWTCallerPrincipal parse(String token, JWTAuthContextInfo authContextInfo) throws ParseException {
+        JwtContext context = parser.parse(token, authContextInfo);
+        String type = context.getJoseObjects().get(0).getHeader("typ");
+        return new DefaultJWTCallerPrincipal(type, context.getJwtClaims());
+    }
+
+    private static class KeyringTokenParser extends DefaultJWTTokenParser {
+
+        private final VerificationKeyResolver keyResolver;
+
+        KeyringTokenParser(TokenService tokenService) {
+            this.keyResolver = (jws, nestingContext) -> {
+                String keyId = jws.getKeyIdHeaderValue();
+                RSAPublicKey key = tokenService.findVerificationKey(keyId);
+
+                if (key == null)
+                    throw new UnresolvableKeyException("No signing key with kid " + keyId + " in the keyring");
+
+                return key;
+            };
+        }
+
+        @Override
+        protected VerificationKeyResolver getVerificationKeyResolver(JWTAuthContextInfo authContextInfo) {
+            return keyResolver;
+        }
+
+    }
+
+}
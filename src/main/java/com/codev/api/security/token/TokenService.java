@@ -0,0 +1,258 @@
+package com.codev.api.security.token;
+
+import com.codev.domain.model.Role;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.jwt.build.Jwt;
+import io.smallrye.jwt.build.JwtClaimsBuilder;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues the login JWTs. The signing key is parsed and validated once at startup instead of on
+ * every login, and when it is read from the filesystem a rotated file is picked up without a
+ * restart. Retired keys stay in the keyring, published by kid, for the retention period from the
+ * moment they were retired, which is at least the lifetime of a token, so tokens signed with them
+ * keep verifying until they expire. When a directory of retired keys is configured, a rotation
+ * writes the retired public key there and startup reads it back, so a restart does not forget it.
+ */
+@ApplicationScoped
+public class TokenService {
+
+    private static final Logger LOG = Logger.getLogger(TokenService.class);
+
+    private static final int MIN_KEY_SIZE = 2048;
+
+    private final String privateKeyLocation;
+
+    private final long reloadIntervalSeconds;
+
+    private final Optional<Path> retiredKeysLocation;
+
+    private final Duration retention;
+
+    private volatile SigningKey signingKey;
+
+    // Copy-on-write: readers never lock, only reloads replace the map
+    private volatile Map<String, KeyringEntry> keyring = Map.of();
+
+    private FileTime privateKeyModifiedAt;
+
+    private ScheduledExecutorService reloader;
+
+    public TokenService(
+            @ConfigProperty(name = "codev.jwt.private-key.location", defaultValue = "privatekey.pem") String privateKeyLocation,
+            @ConfigProperty(name = "codev.jwt.private-key.reload-interval-seconds", defaultValue = "30") long reloadIntervalSeconds,
+            @ConfigProperty(name = "codev.jwt.retired-keys.location") Optional<String> retiredKeysLocation,
+            @ConfigProperty(name = "codev.jwt.keyring.retention-seconds", defaultValue = "86400") long retentionSeconds
+    ) {
+        if (retentionSeconds < TokenUtils.TOKEN_DURATION)
+            throw new IllegalStateException("codev.jwt.keyring.retention-seconds must be at least the token lifetime, " + TokenUtils.TOKEN_DURATION + " seconds");
+
+        this.privateKeyLocation = privateKeyLocation;
+        this.reloadIntervalSeconds = reloadIntervalSeconds;
+        this.retiredKeysLocation = retiredKeysLocation.map(Path::of);
+        this.retention = Duration.ofSeconds(retentionSeconds);
+    }
+
+    void onStart(@Observes StartupEvent event) throws Exception {
+        reload();
+
+        if (isFileLocation() && reloadIntervalSeconds > 0) {
+            reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jwt-key-reloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloader.scheduleWithFixedDelay(this::reloadIfModified, reloadIntervalSeconds, reloadIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (reloader != null)
+            reloader.shutdownNow();
+    }
+
+    public String generateToken(String username, List<Role> roles) {
+        SigningKey key = signingKey;
+
+        JwtClaimsBuilder claimsBuilder = Jwt.claims();
+        long currentTimeInSecs = TokenUtils.currentTimeInSecs();
+
+        Set<String> groups = new HashSet<>();
+        for (Role role : roles) groups.add(role.getName());
+
+        claimsBuilder.subject(username);
+        claimsBuilder.issuedAt(currentTimeInSecs);
+        claimsBuilder.expiresAt(currentTimeInSecs + TokenUtils.TOKEN_DURATION);
+        claimsBuilder.groups(groups);
+
+        return claimsBuilder.jws().keyId(key.keyId()).sign(key.privateKey());
+    }
+
+    /**
+     * The public key of the current or a retired signing key, or null for an unknown kid. Incoming
+     * tokens are verified against it, so a rotation needs no restart and no HTTP round trip.
+     */
+    public RSAPublicKey findVerificationKey(String keyId) {
+        KeyringEntry entry = keyId != null ? keyring.get(keyId) : null;
+        return entry != null && entry.isValidAt(Instant.now(), retention) ? entry.publicKey() : null;
+    }
+
+    /**
+     * Public keys of the current and retired signing keys as a JWK Set.
+     */
+    public Map<String, List<Map<String, String>>> getJwks() {
+        List<Map<String, String>> keys = new ArrayList<>();
+        Instant now = Instant.now();
+
+        keyring.forEach((keyId, entry) -> {
+            if (!entry.isValidAt(now, retention))
+                return;
+
+            RSAPublicKey publicKey = entry.publicKey();
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("kid", keyId);
+            jwk.put("n", TokenUtils.base64Url(publicKey.getModulus()));
+            jwk.put("e", TokenUtils.base64Url(publicKey.getPublicExponent()));
+            keys.add(jwk);
+        });
+
+        return Map.of("keys", keys);
+    }
+
+    private void reloadIfModified() {
+        try {
+            FileTime modifiedAt = Files.getLastModifiedTime(Path.of(privateKeyLocation));
+
+            if (!modifiedAt.equals(privateKeyModifiedAt))
+                reload();
+        } catch (Exception e) {
+            // A half-written or invalid key must not replace the one in use
+            LOG.errorf(e, "Could not reload the JWT signing key from %s, keeping kid %s", privateKeyLocation, signingKey.keyId());
+        }
+    }
+
+    private synchronized void reload() throws Exception {
+        String pem;
+        if (isFileLocation()) {
+            Path path = Path.of(privateKeyLocation);
+            privateKeyModifiedAt = Files.getLastModifiedTime(path);
+            pem = Files.readString(path, StandardCharsets.UTF_8);
+        } else {
+            pem = TokenUtils.readPem(privateKeyLocation.startsWith("/") ? privateKeyLocation : "/" + privateKeyLocation);
+        }
+
+        PrivateKey privateKey = TokenUtils.decodePrivateKey(pem);
+
+        if (!(privateKey instanceof RSAPrivateCrtKey rsaPrivateKey))
+            throw new IllegalStateException("JWT signing key must be an RSA private key in PKCS#8 format");
+
+        if (rsaPrivateKey.getModulus().bitLength() < MIN_KEY_SIZE)
+            throw new IllegalStateException("JWT signing key must have at least " + MIN_KEY_SIZE + " bits");
+
+        RSAPublicKey publicKey = TokenUtils.derivePublicKey(rsaPrivateKey);
+        String keyId = TokenUtils.keyId(publicKey);
+
+        if (signingKey != null && signingKey.keyId().equals(keyId))
+            return;
+
+        Instant now = Instant.now();
+        Map<String, KeyringEntry> updatedKeyring = new LinkedHashMap<>();
+        updatedKeyring.put(keyId, new KeyringEntry(publicKey, null));
+
+        if (signingKey == null)
+            readRetiredKeys(updatedKeyring);
+
+        for (Map.Entry<String, KeyringEntry> entry : keyring.entrySet()) {
+            KeyringEntry retired = entry.getValue().retiredAt() == null
+                    ? retire(entry.getKey(), entry.getValue().publicKey(), now)
+                    : entry.getValue();
+            updatedKeyring.putIfAbsent(entry.getKey(), retired);
+        }
+        updatedKeyring.values().removeIf(entry -> !entry.isValidAt(now, retention));
+
+        keyring = Collections.unmodifiableMap(updatedKeyring);
+        signingKey = new SigningKey(keyId, privateKey);
+
+        LOG.infof("Loaded JWT signing key %s from %s, %d retired keys still verify", keyId, privateKeyLocation, updatedKeyring.size() - 1);
+    }
+
+    /*
+     * Retires the former signing key, writing its public key to the retired keys directory so the
+     * next startup still verifies its tokens. A failed write only costs that after a restart.
+     */
+    private KeyringEntry retire(String keyId, RSAPublicKey publicKey, Instant now) {
+        if (retiredKeysLocation.isPresent()) {
+            Path file = retiredKeysLocation.get().resolve(keyId + ".pem");
+            try {
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, TokenUtils.encodePublicKey(publicKey), StandardCharsets.UTF_8);
+                Files.setLastModifiedTime(file, FileTime.from(now));
+            } catch (Exception e) {
+                LOG.errorf(e, "Could not write the retired JWT key %s to %s", keyId, file);
+            }
+        }
+
+        return new KeyringEntry(publicKey, now);
+    }
+
+    /*
+     * Public keys of the retired keys directory, each retired at the last-modified time of its
+     * file. Files that are not a key are skipped, so a stray file cannot prevent the startup.
+     */
+    private void readRetiredKeys(Map<String, KeyringEntry> keyring) throws IOException {
+        if (retiredKeysLocation.isEmpty() || !Files.isDirectory(retiredKeysLocation.get()))
+            return;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(retiredKeysLocation.get(), "*.pem")) {
+            for (Path file : files) {
+                try {
+                    RSAPublicKey publicKey = TokenUtils.decodePublicKey(Files.readString(file, StandardCharsets.UTF_8));
+                    Instant retiredAt = Files.getLastModifiedTime(file).toInstant();
+
+                    keyring.putIfAbsent(TokenUtils.keyId(publicKey), new KeyringEntry(publicKey, retiredAt));
+                } catch (Exception e) {
+                    LOG.warnf(e, "Skipping %s, it is not a retired JWT key", file);
+                }
+            }
+        }
+    }
+
+    private boolean isFileLocation() {
+        return Files.isRegularFile(Path.of(privateKeyLocation));
+    }
+
+    private record SigningKey(String keyId, PrivateKey privateKey) {}
+
+    // retiredAt is null for the current signing key
+    private record KeyringEntry(RSAPublicKey publicKey, Instant retiredAt) {
+
+        boolean isValidAt(Instant now, Duration retention) {
+            return retiredAt == null || retiredAt.plus(retention).isAfter(now);
+        }
+
+    }
+
+}
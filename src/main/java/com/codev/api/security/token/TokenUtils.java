@@ -1,45 +1,32 @@
 package com.codev.api.security.token;
 
-import com.codev.domain.model.Role;
-import io.smallrye.jwt.build.Jwt;
-import io.smallrye.jwt.build.JwtClaimsBuilder;
-
+import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
+import java.security.MessageDigest;
 import java.security.PrivateKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.regex.Pattern;
 
 public class TokenUtils {
 
     public static final long TOKEN_DURATION = 86400;
 
-    public static String generateToken(String username, List<Role> roles) throws Exception {
-        String privateKeyLocation = "/privatekey.pem";
-        PrivateKey privateKey = readPrivateKey(privateKeyLocation);
-
-        JwtClaimsBuilder claimsBuilder = Jwt.claims();
-        long currentTimeInSecs = currentTimeInSecs();
-
-        Set<String> groups = new HashSet<>();
-        for (Role role : roles) groups.add(role.getName());
-
-        claimsBuilder.subject(username);
-        claimsBuilder.issuedAt(currentTimeInSecs);
-        claimsBuilder.expiresAt(currentTimeInSecs + TOKEN_DURATION);
-        claimsBuilder.groups(groups);
-
-        return claimsBuilder.jws().keyId(privateKeyLocation).sign(privateKey);
-    }
+    private static final Pattern PEM_BOUNDARY = Pattern.compile("-----(BEGIN|END) [^-]*-----|\\s");
 
-    public static PrivateKey readPrivateKey(final String pemResName) throws Exception {
+    public static String readPem(final String pemResName) throws IOException {
         try (InputStream contentIS = TokenUtils.class.getResourceAsStream(pemResName)) {
-            byte[] tmp = new byte[4096];
-            int length = contentIS.read(tmp);
-            return decodePrivateKey(new String(tmp, 0, length, "UTF-8"));
+            if (contentIS == null)
+                throw new IOException("Key resource not found: " + pemResName);
+
+            return new String(contentIS.readAllBytes(), StandardCharsets.UTF_8);
         }
     }
 
@@ -51,17 +38,61 @@ public class TokenUtils {
         return kf.generatePrivate(keySpec);
     }
 
+    /**
+     * An RSA public key from a PEM public key, or derived from a PEM private key.
+     */
+    public static RSAPublicKey decodePublicKey(final String pemEncoded) throws Exception {
+        if (pemEncoded.contains("PRIVATE KEY")) {
+            if (!(decodePrivateKey(pemEncoded) instanceof RSAPrivateCrtKey privateKey))
+                throw new IllegalArgumentException("Not an RSA private key");
+
+            return derivePublicKey(privateKey);
+        }
+
+        X509EncodedKeySpec keySpec = new X509EncodedKeySpec(toEncodedBytes(pemEncoded));
+        return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(keySpec);
+    }
+
+    public static String encodePublicKey(final RSAPublicKey publicKey) {
+        return "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(publicKey.getEncoded())
+                + "\n-----END PUBLIC KEY-----\n";
+    }
+
+    public static RSAPublicKey derivePublicKey(final RSAPrivateCrtKey privateKey) throws Exception {
+        RSAPublicKeySpec keySpec = new RSAPublicKeySpec(privateKey.getModulus(), privateKey.getPublicExponent());
+        return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(keySpec);
+    }
+
+    /**
+     * Key id derived from the public key, so the same key always gets the same kid across restarts.
+     */
+    public static String keyId(final RSAPublicKey publicKey) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getEncoded());
+        return base64Url(digest);
+    }
+
+    public static String base64Url(final BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return base64Url(bytes);
+    }
+
+    public static String base64Url(final byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
     public static byte[] toEncodedBytes(final String pemEncoded) {
         final String normalizedPem = removeBeginEnd(pemEncoded);
         return Base64.getDecoder().decode(normalizedPem);
     }
 
     public static String removeBeginEnd(String pem) {
-        pem = pem.replaceAll("-----BEGIN (.*)-----", "");
-        pem = pem.replaceAll("-----END (.*)----", "");
-        pem = pem.replaceAll("\r\n", "");
-        pem = pem.replaceAll("\n", "");
-        return pem.trim();
+        return PEM_BOUNDARY.matcher(pem).replaceAll("");
     }
 
     public static int currentTimeInSecs() {
@@ -69,4 +100,4 @@ public class TokenUtils {
         return (int) (currentTimeMS / 1000);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.CategoryDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class CategoryDTOViewSerializer extends ViewSerializer<CategoryDTOView> {
+
+    public static final CategoryDTOViewSerializer INSTANCE = new CategoryDTOViewSerializer();
+
+    @Override
+    protected void writeProperties(CategoryDTOView category, JsonGenerator generator) {
+        write(generator, "id", category.getId());
+        write(generator, "name", category.getName());
+    }
+
+}
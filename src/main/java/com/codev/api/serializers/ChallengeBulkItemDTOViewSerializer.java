@@ -0,0 +1,16 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.ChallengeBulkItemDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class ChallengeBulkItemDTOViewSerializer extends ViewSerializer<ChallengeBulkItemDTOView> {
+
+    @Override
+    protected void writeProperties(ChallengeBulkItemDTOView item, JsonGenerator generator) {
+        write(generator, "id", item.getId());
+        generator.write("index", item.getIndex());
+        write(generator, "message", item.getMessage());
+        write(generator, "status", item.getStatus());
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.ChallengeDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class ChallengeDTOViewSerializer extends ViewSerializer<ChallengeDTOView> {
+
+    @Override
+    protected void writeProperties(ChallengeDTOView challenge, JsonGenerator generator) {
+        UserDTOViewSerializer.INSTANCE.serialize("author", challenge.getAuthor(), generator);
+        CategoryDTOViewSerializer.INSTANCE.serialize("category", challenge.getCategory(), generator);
+        write(generator, "createdAt", challenge.getCreatedAt());
+        write(generator, "description", challenge.getDescription());
+        write(generator, "endDate", challenge.getEndDate());
+        write(generator, "id", challenge.getId());
+        generator.write("participantsCount", challenge.getParticipantsCount());
+        generator.write("solutionsCount", challenge.getSolutionsCount());
+        write(generator, "status", challenge.getStatus());
+        write(generator, "technologies", challenge.getTechnologies(), TechnologyDTOViewSerializer.INSTANCE);
+        write(generator, "title", challenge.getTitle());
+    }
+
+}
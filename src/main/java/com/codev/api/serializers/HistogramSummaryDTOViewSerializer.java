@@ -0,0 +1,20 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.HistogramSummaryDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class HistogramSummaryDTOViewSerializer extends ViewSerializer<HistogramSummaryDTOView> {
+
+    public static final HistogramSummaryDTOViewSerializer INSTANCE = new HistogramSummaryDTOViewSerializer();
+
+    @Override
+    protected void writeProperties(HistogramSummaryDTOView histogram, JsonGenerator generator) {
+        generator.write("count", histogram.getCount());
+        generator.write("max", histogram.getMax());
+        generator.write("mean", histogram.getMean());
+        generator.write("p50", histogram.getP50());
+        generator.write("p90", histogram.getP90());
+        generator.write("p99", histogram.getP99());
+    }
+
+}
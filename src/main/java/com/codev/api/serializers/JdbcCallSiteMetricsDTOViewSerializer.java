@@ -0,0 +1,17 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.JdbcCallSiteMetricsDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class JdbcCallSiteMetricsDTOViewSerializer extends ViewSerializer<JdbcCallSiteMetricsDTOView> {
+
+    @Override
+    protected void writeProperties(JdbcCallSiteMetricsDTOView metrics, JsonGenerator generator) {
+        write(generator, "callSite", metrics.getCallSite());
+        HistogramSummaryDTOViewSerializer.INSTANCE.serialize("checkoutWait", metrics.getCheckoutWait(), generator);
+        HistogramSummaryDTOViewSerializer.INSTANCE.serialize("hold", metrics.getHold(), generator);
+        HistogramSummaryDTOViewSerializer.INSTANCE.serialize("rows", metrics.getRows(), generator);
+        HistogramSummaryDTOViewSerializer.INSTANCE.serialize("statement", metrics.getStatement(), generator);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.LeaderboardEntryDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class LeaderboardEntryDTOViewSerializer extends ViewSerializer<LeaderboardEntryDTOView> {
+
+    @Override
+    protected void writeProperties(LeaderboardEntryDTOView entry, JsonGenerator generator) {
+        write(generator, "authorId", entry.getAuthorId());
+        write(generator, "authorName", entry.getAuthorName());
+        write(generator, "deployUrl", entry.getDeployUrl());
+        generator.write("likes", entry.getLikes());
+        generator.write("rank", entry.getRank());
+        write(generator, "repositoryUrl", entry.getRepositoryUrl());
+        write(generator, "solutionId", entry.getSolutionId());
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.LikeDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class LikeDTOViewSerializer extends ViewSerializer<LikeDTOView> {
+
+    @Override
+    protected void writeProperties(LikeDTOView like, JsonGenerator generator) {
+        write(generator, "changed", like.getChanged());
+        generator.write("liked", like.isLiked());
+        write(generator, "likes", like.getLikes());
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.LoginAdmissionDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class LoginAdmissionDTOViewSerializer extends ViewSerializer<LoginAdmissionDTOView> {
+
+    @Override
+    protected void writeProperties(LoginAdmissionDTOView admission, JsonGenerator generator) {
+        generator.write("admitted", admission.getAdmitted());
+        generator.write("inProgress", admission.getInProgress());
+        generator.write("queued", admission.getQueued());
+        generator.write("rejectedByConcurrency", admission.getRejectedByConcurrency());
+        generator.write("rejectedByEmail", admission.getRejectedByEmail());
+        generator.write("rejectedByIp", admission.getRejectedByIp());
+    }
+
+}
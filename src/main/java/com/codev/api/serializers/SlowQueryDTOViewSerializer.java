@@ -0,0 +1,21 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.SlowQueryDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class SlowQueryDTOViewSerializer extends ViewSerializer<SlowQueryDTOView> {
+
+    @Override
+    protected void writeProperties(SlowQueryDTOView slowQuery, JsonGenerator generator) {
+        generator.write("batchSize", slowQuery.getBatchSize());
+        writeStrings(generator, "binds", slowQuery.getBinds());
+        write(generator, "callSite", slowQuery.getCallSite());
+        generator.write("durationMicros", slowQuery.getDurationMicros());
+        write(generator, "error", slowQuery.getError());
+        write(generator, "plan", slowQuery.getPlan());
+        write(generator, "recordedAt", slowQuery.getRecordedAt());
+        generator.write("sequence", slowQuery.getSequence());
+        write(generator, "sql", slowQuery.getSql());
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.SolutionDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class SolutionDTOViewSerializer extends ViewSerializer<SolutionDTOView> {
+
+    @Override
+    protected void writeProperties(SolutionDTOView solution, JsonGenerator generator) {
+        UserDTOViewSerializer.INSTANCE.serialize("author", solution.getAuthor(), generator);
+        write(generator, "challengeId", solution.getChallengeId());
+        write(generator, "deployUrl", solution.getDeployUrl());
+        generator.write("liked", solution.isLiked());
+        generator.write("likes", solution.getLikes());
+        write(generator, "repositoryUrl", solution.getRepositoryUrl());
+        write(generator, "solutionId", solution.getSolutionId());
+    }
+
+}
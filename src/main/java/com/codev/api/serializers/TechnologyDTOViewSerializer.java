@@ -0,0 +1,18 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.TechnologyDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class TechnologyDTOViewSerializer extends ViewSerializer<TechnologyDTOView> {
+
+    public static final TechnologyDTOViewSerializer INSTANCE = new TechnologyDTOViewSerializer();
+
+    @Override
+    protected void writeProperties(TechnologyDTOView technology, JsonGenerator generator) {
+        write(generator, "color", technology.getColor());
+        write(generator, "documentationLink", technology.getDocumentationLink());
+        write(generator, "id", technology.getId());
+        write(generator, "name", technology.getName());
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.UserDTOView;
+import com.codev.domain.model.Label;
+import com.codev.domain.model.Role;
+import jakarta.json.stream.JsonGenerator;
+
+/**
+ * Also writes the labels and roles the view holds as entities, in the shape JSON-B gives them.
+ */
+public class UserDTOViewSerializer extends ViewSerializer<UserDTOView> {
+
+    public static final UserDTOViewSerializer INSTANCE = new UserDTOViewSerializer();
+
+    private static final ViewSerializer<Label> LABEL = new ViewSerializer<>() {
+        @Override
+        protected void writeProperties(Label label, JsonGenerator generator) {
+            write(generator, "description", label.getDescription());
+            write(generator, "id", label.getId());
+            write(generator, "title", label.getTitle());
+        }
+    };
+
+    private static final ViewSerializer<Role> ROLE = new ViewSerializer<>() {
+        @Override
+        protected void writeProperties(Role role, JsonGenerator generator) {
+            write(generator, "id", role.getId());
+            write(generator, "name", role.getName());
+        }
+    };
+
+    @Override
+    protected void writeProperties(UserDTOView user, JsonGenerator generator) {
+        write(generator, "additionalUrl", user.getAdditionalUrl());
+        write(generator, "createdAt", user.getCreatedAt());
+        write(generator, "email", user.getEmail());
+        write(generator, "githubUrl", user.getGithubUrl());
+        write(generator, "id", user.getId());
+        write(generator, "labels", user.getLabels(), LABEL);
+        write(generator, "name", user.getName());
+        write(generator, "roles", user.getRoles(), ROLE);
+        write(generator, "updatedAt", user.getUpdatedAt());
+    }
+
+}
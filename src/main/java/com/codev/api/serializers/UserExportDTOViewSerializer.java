@@ -0,0 +1,21 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.UserExportDTOView;
+import jakarta.json.stream.JsonGenerator;
+
+public class UserExportDTOViewSerializer extends ViewSerializer<UserExportDTOView> {
+
+    @Override
+    protected void writeProperties(UserExportDTOView user, JsonGenerator generator) {
+        write(generator, "additionalUrl", user.getAdditionalUrl());
+        write(generator, "createdAt", user.getCreatedAt());
+        write(generator, "email", user.getEmail());
+        write(generator, "githubUrl", user.getGithubUrl());
+        write(generator, "id", user.getId());
+        writeStrings(generator, "labels", user.getLabels());
+        write(generator, "name", user.getName());
+        writeStrings(generator, "roles", user.getRoles());
+        write(generator, "updatedAt", user.getUpdatedAt());
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.codev.api.serializers;
+
+import jakarta.json.bind.serializer.JsonbSerializer;
+import jakarta.json.bind.serializer.SerializationContext;
+import jakarta.json.stream.JsonGenerator;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Writes a view straight to the generator of the response, without the per-property reflection
+ * of the default JSON-B mapping. Subclasses must keep the JSON that mapping would produce:
+ * properties in lexicographical order and null values left out.
+ */
+public abstract class ViewSerializer<T> implements JsonbSerializer<T> {
+
+    @Override
+    public void serialize(T view, JsonGenerator generator, SerializationContext context) {
+        generator.writeStartObject();
+        writeProperties(view, generator);
+        generator.writeEnd();
+    }
+
+    /**
+     * Writes the view as the value of a property of the enclosing object.
+     */
+    public void serialize(String name, T view, JsonGenerator generator) {
+        if (view == null)
+            return;
+
+        generator.writeStartObject(name);
+        writeProperties(view, generator);
+        generator.writeEnd();
+    }
+
+    protected abstract void writeProperties(T view, JsonGenerator generator);
+
+    protected static void write(JsonGenerator generator, String name, String value) {
+        if (value != null)
+            generator.write(name, value);
+    }
+
+    protected static void write(JsonGenerator generator, String name, UUID value) {
+        if (value != null)
+            generator.write(name, value.toString());
+    }
+
+    protected static void write(JsonGenerator generator, String name, LocalDateTime value) {
+        if (value != null)
+            generator.write(name, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+    }
+
+    protected static void write(JsonGenerator generator, String name, Enum<?> value) {
+        if (value != null)
+            generator.write(name, value.name());
+    }
+
+    protected static void write(JsonGenerator generator, String name, Boolean value) {
+        if (value != null)
+            generator.write(name, value);
+    }
+
+    protected static void write(JsonGenerator generator, String name, Long value) {
+        if (value != null)
+            generator.write(name, value);
+    }
+
+    protected static <V> void write(JsonGenerator generator, String name, Iterable<V> values, ViewSerializer<V> serializer) {
+        if (values == null)
+            return;
+
+        generator.writeStartArray(name);
+        for (V value : values) {
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.writeStartObject();
+                serializer.writeProperties(value, generator);
+                generator.writeEnd();
+            }
+        }
+        generator.writeEnd();
+    }
+
+    protected static void writeStrings(JsonGenerator generator, String name, Iterable<String> values) {
+        if (values == null)
+            return;
+
+        generator.writeStartArray(name);
+        for (String value : values) {
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.write(value);
+            }
+        }
+        generator.writeEnd();
+    }
+
+}
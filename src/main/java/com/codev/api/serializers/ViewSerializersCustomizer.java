@@ -0,0 +1,46 @@
+package com.codev.api.serializers;
+
+import io.quarkus.jsonb.JsonbConfigCustomizer;
+import jakarta.inject.Singleton;
+import jakarta.json.bind.JsonbConfig;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Registers the serializers of the views on the Jsonb instance shared by the REST layer and the
+ * services, so responses, cached bodies and exports all skip the reflective mapping. Turning
+ * codev.json.view-serializers.enabled off falls back to that mapping, to compare the two.
+ */
+@Singleton
+public class ViewSerializersCustomizer implements JsonbConfigCustomizer {
+
+    private final boolean enabled;
+
+    public ViewSerializersCustomizer(
+            @ConfigProperty(name = "codev.json.view-serializers.enabled", defaultValue = "true") boolean enabled
+    ) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void customize(JsonbConfig config) {
+        if (!enabled)
+            return;
+
+        config.withSerializers(
+                new ChallengeDTOViewSerializer(),
+                CategoryDTOViewSerializer.INSTANCE,
+                TechnologyDTOViewSerializer.INSTANCE,
+                UserDTOViewSerializer.INSTANCE,
+                new SolutionDTOViewSerializer(),
+                new LikeDTOViewSerializer(),
+                new LeaderboardEntryDTOViewSerializer(),
+                new LoginAdmissionDTOViewSerializer(),
+                new UserExportDTOViewSerializer(),
+                new ChallengeBulkItemDTOViewSerializer(),
+                HistogramSummaryDTOViewSerializer.INSTANCE,
+                new JdbcCallSiteMetricsDTOViewSerializer(),
+                new SlowQueryDTOViewSerializer()
+        );
+    }
+
+}
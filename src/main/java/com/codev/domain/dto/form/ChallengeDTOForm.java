@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
+import java.util.Set;
 import java.util.UUID;
 
 import com.codev.domain.enums.ChallengeStatus;
@@ -29,4 +30,6 @@ public class ChallengeDTOForm {
     @NotNull
     private ChallengeStatus status;
 
+    private Set<UUID> technologyIds;
+
 }
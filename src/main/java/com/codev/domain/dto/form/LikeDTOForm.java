@@ -0,0 +1,20 @@
+package com.codev.domain.dto.form;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeDTOForm {
+
+    private UUID solutionId;
+
+    private UUID userId;
+
+    private boolean liked;
+
+}
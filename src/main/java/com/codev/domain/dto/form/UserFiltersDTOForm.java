@@ -1,12 +1,24 @@
 package com.codev.domain.dto.form;
 
+import com.codev.domain.enums.SearchMode;
 import lombok.Data;
 
 @Data
 public class UserFiltersDTOForm {
     String startsWith;
 
+    SearchMode mode;
+
     public UserFiltersDTOForm(String startsWith) {
+        this(startsWith, SearchMode.SUBSTRING);
+    }
+
+    public UserFiltersDTOForm(String startsWith, SearchMode mode) {
         this.startsWith = startsWith;
+        this.mode = mode;
+    }
+
+    public boolean hasSearchTerm() {
+        return startsWith != null && !startsWith.isBlank();
     }
 }
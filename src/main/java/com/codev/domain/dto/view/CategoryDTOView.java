@@ -17,4 +17,9 @@ public class CategoryDTOView {
         this.name = category.getName();
     }
 
+    public CategoryDTOView(UUID id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
 }
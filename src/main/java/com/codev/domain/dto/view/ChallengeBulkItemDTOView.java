@@ -0,0 +1,24 @@
+package com.codev.domain.dto.view;
+
+import com.codev.domain.enums.BulkItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChallengeBulkItemDTOView {
+
+    // Position of the challenge in the submitted array
+    private int index;
+
+    private UUID id;
+
+    private BulkItemStatus status;
+
+    private String message;
+
+}
@@ -3,6 +3,7 @@ package com.codev.domain.dto.view;
 import com.codev.domain.enums.ChallengeStatus;
 import com.codev.domain.model.Category;
 import com.codev.domain.model.Challenge;
+import jakarta.json.bind.annotation.JsonbTransient;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -31,6 +32,14 @@ public class ChallengeDTOView {
 
     private Set<TechnologyDTOView> technologies;
 
+    private long participantsCount;
+
+    private long solutionsCount;
+
+    // Sent as the ETag header, not in the body
+    @JsonbTransient
+    private long version;
+
     public ChallengeDTOView(Challenge challenge) {
         this.id = challenge.getId();
         this.title = challenge.getTitle();
@@ -39,11 +48,14 @@ public class ChallengeDTOView {
         this.endDate = challenge.getEndDate();
         this.status = challenge.getStatus();
         this.author = new UserDTOView(challenge.getAuthor());
+        this.participantsCount = challenge.getParticipantsCount();
+        this.solutionsCount = challenge.getSolutionsCount();
+        this.version = challenge.getVersion();
     }
     
     public ChallengeDTOView(Challenge challenge, Category category) {
         this(challenge);
-        this.category = new CategoryDTOView(challenge.getCategory());
+        this.category = category != null ? new CategoryDTOView(category) : null;
     }
 
     public ChallengeDTOView(Challenge challenge, Category category, Set<TechnologyDTOView> technologies) {
@@ -51,4 +63,6 @@ public class ChallengeDTOView {
         this.technologies = technologies;
     }
 
+    public ChallengeDTOView() {}
+
 }
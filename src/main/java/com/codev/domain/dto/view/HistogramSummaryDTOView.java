@@ -0,0 +1,24 @@
+package com.codev.domain.dto.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistogramSummaryDTOView {
+
+    private long count;
+
+    private double mean;
+
+    private long p50;
+
+    private long p90;
+
+    private long p99;
+
+    private long max;
+
+}
@@ -0,0 +1,25 @@
+package com.codev.domain.dto.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Connection and statement figures of one repository method. Durations are in microseconds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JdbcCallSiteMetricsDTOView {
+
+    private String callSite;
+
+    private HistogramSummaryDTOView checkoutWait;
+
+    private HistogramSummaryDTOView hold;
+
+    private HistogramSummaryDTOView statement;
+
+    private HistogramSummaryDTOView rows;
+
+}
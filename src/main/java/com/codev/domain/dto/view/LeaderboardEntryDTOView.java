@@ -0,0 +1,28 @@
+package com.codev.domain.dto.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDTOView {
+
+    private int rank;
+
+    private UUID solutionId;
+
+    private UUID authorId;
+
+    private String authorName;
+
+    private String repositoryUrl;
+
+    private String deployUrl;
+
+    private long likes;
+
+}
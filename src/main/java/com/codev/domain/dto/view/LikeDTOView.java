@@ -1,5 +1,6 @@
 package com.codev.domain.dto.view;
 
+import jakarta.json.bind.annotation.JsonbTransient;
 import lombok.Data;
 
 @Data
@@ -7,8 +8,25 @@ public class LikeDTOView {
 
     private boolean liked;
 
-    public LikeDTOView(boolean liked){
+    // null when the like is buffered and the state it replaces is not known
+    private Boolean changed;
+
+    // null while the change is still buffered and the persisted count is not known yet
+    private Long likes;
+
+    // likes_version of the solution after the change, for ordering in-memory updates; not rendered
+    @JsonbTransient
+    private Long likesVersion;
+
+    public LikeDTOView(boolean liked, Boolean changed, Long likes){
         this.liked = liked;
+        this.changed = changed;
+        this.likes = likes;
+    }
+
+    public LikeDTOView(boolean liked, Boolean changed, Long likes, Long likesVersion){
+        this(liked, changed, likes);
+        this.likesVersion = likesVersion;
     }
 
     public LikeDTOView(){}
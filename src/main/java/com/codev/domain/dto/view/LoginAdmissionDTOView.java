@@ -0,0 +1,24 @@
+package com.codev.domain.dto.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginAdmissionDTOView {
+
+    private int queued;
+
+    private int inProgress;
+
+    private long admitted;
+
+    private long rejectedByEmail;
+
+    private long rejectedByIp;
+
+    private long rejectedByConcurrency;
+
+}
@@ -0,0 +1,37 @@
+package com.codev.domain.dto.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A statement that ran over the slow query threshold. Bind values are redacted to their type,
+ * except for numbers, booleans and ids; the plan is only present for sampled SELECT statements.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDTOView {
+
+    private long sequence;
+
+    private LocalDateTime recordedAt;
+
+    private String callSite;
+
+    private String sql;
+
+    private List<String> binds;
+
+    private int batchSize;
+
+    private long durationMicros;
+
+    private String error;
+
+    private String plan;
+
+}
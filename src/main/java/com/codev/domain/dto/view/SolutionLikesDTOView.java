@@ -0,0 +1,20 @@
+package com.codev.domain.dto.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionLikesDTOView {
+
+    private UUID solutionId;
+
+    private long likes;
+
+    private long likesVersion;
+
+}
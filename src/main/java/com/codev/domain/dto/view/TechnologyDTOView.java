@@ -23,4 +23,11 @@ public class TechnologyDTOView {
         this.color = technology.getColor();
     }
 
+    public TechnologyDTOView(UUID id, String name, String documentationLink, String color) {
+        this.id = id;
+        this.name = name;
+        this.documentationLink = documentationLink;
+        this.color = color;
+    }
+
 }
@@ -39,8 +39,8 @@ public class UserDTOView {
         this.githubUrl = user.getGithubUrl();
         this.createdAt = user.getCreatedAt();
         this.updatedAt = user.getUpdatedAt();
-        this.labels = user.getLabels();
-        this.roles = new HashSet<>(user.getRoles());
+        this.labels = user.getLabels() != null ? new HashSet<>(user.getLabels()) : new HashSet<>();
+        this.roles = user.getRoles() != null ? new HashSet<>(user.getRoles()) : new HashSet<>();
     }
 
     public UserDTOView() {}
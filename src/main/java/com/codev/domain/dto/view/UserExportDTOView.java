@@ -0,0 +1,34 @@
+package com.codev.domain.dto.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserExportDTOView {
+
+    private UUID id;
+
+    private String name;
+
+    private String email;
+
+    private String githubUrl;
+
+    private String additionalUrl;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private List<String> roles;
+
+    private List<String> labels;
+
+}
@@ -0,0 +1,7 @@
+package com.codev.domain.enums;
+
+public enum BulkItemStatus {
+    CREATED,
+    REJECTED,
+    FAILED,
+}
@@ -0,0 +1,25 @@
+package com.codev.domain.enums;
+
+import java.util.Locale;
+
+/**
+ * Named fetch plans, declared once per entity as a {@code @NamedEntityGraph} called
+ * {@code <Entity>.<plan>} and applied by the repositories. Every plan loads what its use case
+ * renders in a single statement, so an endpoint always issues the same number of queries
+ * whatever the data looks like.
+ */
+public enum FetchPlan {
+
+    /** The entity as its view renders it, in listings and on its own page. */
+    CARD,
+
+    /** Administrative writes that answer with the updated entity. */
+    ADMIN;
+
+    public static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    public String graphOf(Class<?> entityClass) {
+        return entityClass.getSimpleName() + "." + name().toLowerCase(Locale.ROOT);
+    }
+
+}
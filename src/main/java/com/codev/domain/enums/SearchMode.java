@@ -0,0 +1,6 @@
+package com.codev.domain.enums;
+
+public enum SearchMode {
+    PREFIX,
+    SUBSTRING,
+}
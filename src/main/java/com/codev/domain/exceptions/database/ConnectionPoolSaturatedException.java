@@ -0,0 +1,13 @@
+package com.codev.domain.exceptions.database;
+
+/**
+ * Unchecked because it is raised by an interceptor around resource methods that do not
+ * declare it; it is turned into a 503 by its exception mapper.
+ */
+public class ConnectionPoolSaturatedException extends RuntimeException {
+
+    public ConnectionPoolSaturatedException() {
+        super("The database is saturated, try again later.");
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.codev.domain.exceptions.solutions;
+
+/**
+ * Raised by the write-behind buffer once shutdown has started, so no like is accepted after the
+ * final flush; it is turned into a 503 by its exception mapper and the client retries elsewhere.
+ */
+public class LikeBufferClosedException extends RuntimeException {
+
+    public LikeBufferClosedException() {
+        super("Likes are not accepted while the server shuts down, try again later.");
+    }
+
+}
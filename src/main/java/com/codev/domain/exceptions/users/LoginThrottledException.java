@@ -0,0 +1,20 @@
+package com.codev.domain.exceptions.users;
+
+import lombok.Getter;
+
+@Getter
+public class LoginThrottledException extends Exception {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("Too many login attempts, try again later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
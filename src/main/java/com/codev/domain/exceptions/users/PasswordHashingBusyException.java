@@ -0,0 +1,21 @@
+package com.codev.domain.exceptions.users;
+
+public class PasswordHashingBusyException extends Exception {
+
+    public PasswordHashingBusyException() {
+        super("Password hashing is saturated, try again later.");
+    }
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public PasswordHashingBusyException(Throwable cause) {
+        super("Password hashing is saturated, try again later.", cause);
+    }
+
+}
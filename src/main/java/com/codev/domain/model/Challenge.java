@@ -7,6 +7,8 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,8 +16,30 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Data
 @Table(name = "tb_challenge")
+@NamedEntityGraph(name = "Challenge.card",
+        attributeNodes = {
+                @NamedAttributeNode(value = "author", subgraph = "author"),
+                @NamedAttributeNode("category"),
+                @NamedAttributeNode("technologies")
+        },
+        subgraphs = @NamedSubgraph(name = "author", attributeNodes = {
+                @NamedAttributeNode("labels"),
+                @NamedAttributeNode("roles")
+        })
+)
+@NamedEntityGraph(name = "Challenge.admin",
+        attributeNodes = {
+                @NamedAttributeNode(value = "author", subgraph = "author"),
+                @NamedAttributeNode("category")
+        },
+        subgraphs = @NamedSubgraph(name = "author", attributeNodes = {
+                @NamedAttributeNode("labels"),
+                @NamedAttributeNode("roles")
+        })
+)
 public class Challenge extends PanacheEntityBase {
 
     @Id
@@ -56,7 +80,8 @@ public class Challenge extends PanacheEntityBase {
     @ManyToMany
     @JoinTable(name = "tb_participant",
             joinColumns = @JoinColumn(name = "challenge_id"),
-            inverseJoinColumns = @JoinColumn(name = "participant_id")
+            inverseJoinColumns = @JoinColumn(name = "participant_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_participant_challenge_participant", columnNames = {"challenge_id", "participant_id"})
     )
     @JsonBackReference
     private List<User> participants;
@@ -67,6 +92,21 @@ public class Challenge extends PanacheEntityBase {
     @Column(name = "end_date")
     private LocalDateTime endDate;
 
+    // Maintained in SQL next to the rows they count, never written back from the entity
+    @ColumnDefault("0")
+    @Column(name = "participants_count", nullable = false, insertable = false, updatable = false)
+    private long participantsCount;
+
+    @ColumnDefault("0")
+    @Column(name = "solutions_count", nullable = false, insertable = false, updatable = false)
+    private long solutionsCount;
+
+    // Checked and bumped by every ORM update; rows inserted through JDBC start from the default
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     public Challenge(ChallengeDTOForm challengeDTOForm) {
         this.title = challengeDTOForm.getTitle();
         this.description = challengeDTOForm.getDescription();
@@ -6,6 +6,7 @@ import lombok.Data;
 import java.util.UUID;
 
 @Entity
+@Cacheable
 @Data
 @Table(name = "tb_label")
 public class Label {
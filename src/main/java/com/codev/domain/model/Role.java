@@ -7,6 +7,7 @@ import lombok.Data;
 import java.util.UUID;
 
 @Entity
+@Cacheable
 @Data
 @Table(name = "tb_role")
 public class Role extends PanacheEntityBase {
@@ -4,13 +4,17 @@ import com.codev.domain.dto.form.SolutionDTOForm;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 import java.util.UUID;
 
 @Entity
 @Data
-@Table(name = "tb_solution")
+@Table(name = "tb_solution", indexes = {
+        @Index(name = "idx_solution_challenge_id", columnList = "challenge_id, id"),
+        @Index(name = "idx_solution_challenge_likes", columnList = "challenge_id, likes_count DESC, id")
+})
 public class Solution extends PanacheEntityBase {
 
     @Id
@@ -34,10 +38,20 @@ public class Solution extends PanacheEntityBase {
     @ManyToMany
     @JoinTable(name = "tb_like",
             joinColumns = @JoinColumn(name = "solution_id"),
-            inverseJoinColumns = @JoinColumn(name = "participant_id")
+            inverseJoinColumns = @JoinColumn(name = "participant_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_like_solution_participant", columnNames = {"solution_id", "participant_id"})
     )
     private List<User> participants;
 
+    @ColumnDefault("0")
+    @Column(name = "likes_count", nullable = false, insertable = false, updatable = false)
+    private long likesCount;
+
+    // Bumped in SQL by every statement that changes likes_count, so in-memory copies can tell which count is newer
+    @ColumnDefault("0")
+    @Column(name = "likes_version", nullable = false, insertable = false, updatable = false)
+    private long likesVersion;
+
     public Solution(SolutionDTOForm solutionDTOForm) {
         this.repositoryUrl = solutionDTOForm.getRepositoryUrl();
         this.deployUrl = solutionDTOForm.getDeployUrl();
@@ -9,6 +9,7 @@ import lombok.Data;
 import java.util.UUID;
 
 @Entity
+@Cacheable
 @Data
 @Table(name = "tb_technology")
 public class Technology extends PanacheEntityBase {
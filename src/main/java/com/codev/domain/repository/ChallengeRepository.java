@@ -1,22 +1,28 @@
 package com.codev.domain.repository;
 
+import com.codev.domain.enums.FetchPlan;
 import com.codev.domain.enums.OrderBy;
 import com.codev.domain.exceptions.challenges.JoinNotAcceptedException;
 import com.codev.domain.exceptions.challenges.UnjoinNotAcceptedException;
 import com.codev.domain.model.Challenge;
 import com.codev.domain.model.Technology;
+import com.codev.utils.helpers.ChallengeCursor;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 
 public interface ChallengeRepository {
 
-    Set<Challenge> findAllChallengesWithPaging(
-        Integer page, Integer size, UUID categoryId, OrderBy orderBy
+    List<Challenge> findAllChallengesWithPaging(
+        Integer page, Integer size, UUID categoryId, OrderBy orderBy, ChallengeCursor cursor
     );
 
+    Challenge findById(UUID challengeId, FetchPlan fetchPlan);
+
+    List<Challenge> findAllByIds(List<UUID> challengeIds, FetchPlan fetchPlan);
+
     boolean joinChallenge(UUID challengeId, UUID participantId) throws JoinNotAcceptedException;
 
     boolean unjoinChallenge(UUID challengeId, UUID participantId) throws UnjoinNotAcceptedException;
@@ -30,4 +36,8 @@ public interface ChallengeRepository {
 
     void removeCategoryInChallenge(UUID challengeId) throws SQLException;
 
+    void addTechnologiesInChallenge(Challenge challenge, Collection<Technology> technologies);
+
+    void insertChallengesInBatch(List<Challenge> challenges) throws SQLException;
+
 }
\ No newline at end of file
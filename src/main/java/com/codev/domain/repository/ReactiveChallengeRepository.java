@@ -0,0 +1,19 @@
+package com.codev.domain.repository;
+
+import com.codev.domain.dto.view.ChallengeDTOView;
+import com.codev.domain.enums.OrderBy;
+import com.codev.utils.helpers.ChallengeCursor;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ReactiveChallengeRepository {
+
+    Uni<List<ChallengeDTOView>> findAllChallengesWithPaging(
+        Integer page, Integer size, UUID categoryId, OrderBy orderBy, ChallengeCursor cursor
+    );
+
+    Uni<ChallengeDTOView> findById(UUID challengeId);
+
+}
@@ -1,7 +1,9 @@
 package com.codev.domain.repository;
 
+import com.codev.domain.dto.form.LikeDTOForm;
 import com.codev.domain.dto.view.LikeDTOView;
 import com.codev.domain.dto.view.SolutionDTOView;
+import com.codev.domain.dto.view.SolutionLikesDTOView;
 import com.codev.domain.exceptions.solutions.LikeNotAcceptedException;
 import com.codev.domain.exceptions.solutions.SolutionNotDeletedException;
 
@@ -15,7 +17,9 @@ public interface SolutionRepository {
 
     LikeDTOView removeLike(UUID solutionId, UUID userId) throws LikeNotAcceptedException;
 
+    List<SolutionLikesDTOView> saveLikesInBatch(List<LikeDTOForm> likes);
+
     boolean deleteSolution(UUID solutionId, UUID authorId) throws SolutionNotDeletedException;
 
-    void removeLikeBySolutionId(UUID solutionId) throws SolutionNotDeletedException;
+    void incrementSolutionsCount(UUID challengeId);
 }
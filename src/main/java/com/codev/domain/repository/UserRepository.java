@@ -1,17 +1,26 @@
 package com.codev.domain.repository;
 
 import com.codev.domain.dto.form.UserFiltersDTOForm;
+import com.codev.domain.dto.view.UserExportDTOView;
 import com.codev.domain.model.User;
 
+import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface UserRepository {
 
-    List<User> findAllUsers(UserFiltersDTOForm filters);
+    List<User> findAllUsers(UserFiltersDTOForm filters, UUID cursor, Integer size);
+
+    void exportUsers(UserFiltersDTOForm filters, Consumer<UserExportDTOView> consumer) throws SQLException;
 
     User findByUsername(String email);
 
     User findById(UUID userId);
 
+    Set<UUID> findActiveIds(Collection<UUID> userIds) throws SQLException;
+
 }
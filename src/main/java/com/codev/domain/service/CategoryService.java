@@ -1,30 +1,51 @@
 package com.codev.domain.service;
 
 import com.codev.domain.dto.form.CategoryDTOForm;
+import com.codev.domain.dto.view.CategoryDTOView;
 import com.codev.domain.model.Category;
 import com.codev.domain.repository.CategoryRepository;
+import com.codev.utils.helpers.JsonResponseCache;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.bind.Jsonb;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 import java.util.UUID;
 
 @ApplicationScoped
-@RequiredArgsConstructor
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
 
+    private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    private final JsonResponseCache categoriesCache;
+
+    public CategoryService(
+            CategoryRepository categoryRepository,
+            TransactionSynchronizationRegistry transactionSynchronizationRegistry,
+            Jsonb jsonb
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+        this.categoriesCache = new JsonResponseCache(jsonb);
+    }
+
     public List<Category> findAllCategories() {
         return categoryRepository.findAllCategories();
     }
 
+    public JsonResponseCache.Entry findAllCategoriesAsJson() {
+        return categoriesCache.get(() -> findAllCategories().stream().map(CategoryDTOView::new).toList());
+    }
+
     @Transactional
     public Category createCategory(CategoryDTOForm categoryDTOForm) {
         Category category = new Category(categoryDTOForm.getName());
         category.persist();
+        categoriesCache.invalidateAfterCompletion(transactionSynchronizationRegistry);
         return category;
     }
 
@@ -36,6 +57,7 @@ public class CategoryService {
 
         category.setName(categoryDTOForm.getName());
         category.persist();
+        categoriesCache.invalidateAfterCompletion(transactionSynchronizationRegistry);
         return category;
     }
 
@@ -46,5 +68,6 @@ public class CategoryService {
             throw new EntityNotFoundException("Category does not exist and therefore it was not possible to delete");
 
         categoryRepository.deleteCategory(categoryId);
+        categoriesCache.invalidateAfterCompletion(transactionSynchronizationRegistry);
     }
 }
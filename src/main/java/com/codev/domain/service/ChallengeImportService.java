@@ -0,0 +1,201 @@
+package com.codev.domain.service;
+
+import com.codev.domain.dto.form.ChallengeDTOForm;
+import com.codev.domain.dto.view.ChallengeBulkItemDTOView;
+import com.codev.domain.enums.BulkItemStatus;
+import com.codev.domain.model.Category;
+import com.codev.domain.model.Challenge;
+import com.codev.domain.model.Technology;
+import com.codev.domain.model.User;
+import com.codev.domain.repository.ChallengeRepository;
+import com.codev.domain.repository.UserRepository;
+import com.codev.infraestructure.search.ChallengeSearchIndex;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.Json;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbException;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParsingException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads a JSON array of challenges without holding it in memory. Items are read one at a time,
+ * checked against categories and technologies preloaded once per import, and written in chunks,
+ * each chunk in its own transaction with batched inserts. Every item gets a result, so a rejected
+ * item or a failed chunk does not stop the rest of the import.
+ */
+@ApplicationScoped
+public class ChallengeImportService {
+
+    private static final Logger LOG = Logger.getLogger(ChallengeImportService.class);
+
+    private final ChallengeRepository challengeRepository;
+
+    private final UserRepository userRepository;
+
+    private final ChallengeSearchIndex challengeSearchIndex;
+
+    private final Jsonb jsonb;
+
+    private final Validator validator;
+
+    private final int chunkSize;
+
+    public ChallengeImportService(
+            ChallengeRepository challengeRepository,
+            UserRepository userRepository,
+            ChallengeSearchIndex challengeSearchIndex,
+            Jsonb jsonb,
+            Validator validator,
+            @ConfigProperty(name = "codev.challenges.bulk.chunk-size", defaultValue = "500") int chunkSize
+    ) {
+        this.challengeRepository = challengeRepository;
+        this.userRepository = userRepository;
+        this.challengeSearchIndex = challengeSearchIndex;
+        this.jsonb = jsonb;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<ChallengeBulkItemDTOView> importChallenges(InputStream input) {
+        Map<UUID, Category> categories = Category.<Category>listAll().stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        Map<UUID, Technology> technologies = Technology.<Technology>listAll().stream()
+                .collect(Collectors.toMap(Technology::getId, Function.identity()));
+
+        List<ChallengeBulkItemDTOView> results = new ArrayList<>();
+        Map<Integer, Challenge> chunk = new LinkedHashMap<>();
+
+        try (JsonParser parser = Json.createParser(input)) {
+            if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY)
+                throw new IllegalArgumentException("Expected a JSON array of challenges.");
+
+            int index = 0;
+            try {
+                for (JsonParser.Event event = parser.next(); event != JsonParser.Event.END_ARRAY; event = parser.next(), index++) {
+                    if (event != JsonParser.Event.START_OBJECT) {
+                        if (event == JsonParser.Event.START_ARRAY)
+                            parser.skipArray();
+                        results.add(rejected(index, "Expected a challenge object."));
+                        continue;
+                    }
+
+                    String object = parser.getObject().toString();
+
+                    try {
+                        Challenge challenge = toChallenge(jsonb.fromJson(object, ChallengeDTOForm.class), categories, technologies);
+                        chunk.put(index, challenge);
+                    } catch (IllegalArgumentException | JsonbException e) {
+                        results.add(rejected(index, e.getMessage()));
+                    }
+
+                    if (chunk.size() >= chunkSize)
+                        insertChunk(chunk, results);
+                }
+            } catch (JsonParsingException | NoSuchElementException e) {
+                // Nothing after this point can be read, the items already parsed are still imported
+                results.add(rejected(index, "Malformed JSON, the import stopped here: " + e.getMessage()));
+            }
+
+            insertChunk(chunk, results);
+        } catch (JsonParsingException e) {
+            throw new IllegalArgumentException("Expected a JSON array of challenges.", e);
+        }
+
+        results.sort(Comparator.comparingInt(ChallengeBulkItemDTOView::getIndex));
+        return results;
+    }
+
+    private Challenge toChallenge(
+            ChallengeDTOForm challengeDTOForm, Map<UUID, Category> categories, Map<UUID, Technology> technologies
+    ) {
+        Set<ConstraintViolation<ChallengeDTOForm>> violations = validator.validate(challengeDTOForm);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+
+        Category category = categories.get(challengeDTOForm.getCategoryId());
+        if (category == null)
+            throw new IllegalArgumentException("Category not found with id " + challengeDTOForm.getCategoryId());
+
+        Set<Technology> challengeTechnologies = new HashSet<>();
+        if (challengeDTOForm.getTechnologyIds() != null) {
+            for (UUID technologyId : challengeDTOForm.getTechnologyIds()) {
+                Technology technology = technologies.get(technologyId);
+                if (technology == null)
+                    throw new IllegalArgumentException("Technology not found with id " + technologyId);
+
+                challengeTechnologies.add(technology);
+            }
+        }
+
+        User author = new User();
+        author.setId(challengeDTOForm.getAuthorId());
+
+        Challenge challenge = new Challenge(challengeDTOForm);
+        challenge.setId(UUID.randomUUID());
+        challenge.setAuthor(author);
+        challenge.setCategory(category);
+        challenge.setTechnologies(challengeTechnologies);
+        return challenge;
+    }
+
+    /*
+     * Writes the pending chunk in one transaction and records a result for each of its items.
+     */
+    private void insertChunk(Map<Integer, Challenge> chunk, List<ChallengeBulkItemDTOView> results) {
+        if (chunk.isEmpty())
+            return;
+
+        Map<Integer, Challenge> accepted = null;
+        try {
+            Set<UUID> activeAuthorIds = userRepository.findActiveIds(
+                    chunk.values().stream().map(challenge -> challenge.getAuthor().getId()).collect(Collectors.toSet())
+            );
+
+            accepted = new LinkedHashMap<>();
+            for (Map.Entry<Integer, Challenge> entry : chunk.entrySet()) {
+                UUID authorId = entry.getValue().getAuthor().getId();
+
+                if (activeAuthorIds.contains(authorId)) {
+                    accepted.put(entry.getKey(), entry.getValue());
+                } else {
+                    results.add(rejected(entry.getKey(), "Author not found with id " + authorId));
+                }
+            }
+
+            challengeRepository.insertChallengesInBatch(new ArrayList<>(accepted.values()));
+            challengeSearchIndex.indexCommitted(accepted.values());
+
+            accepted.forEach((index, challenge) ->
+                    results.add(new ChallengeBulkItemDTOView(index, challenge.getId(), BulkItemStatus.CREATED, null)));
+        } catch (SQLException e) {
+            LOG.warnf(e, "Bulk import chunk of %d challenges rolled back", chunk.size());
+
+            // Items already rejected for their author keep that result
+            Set<Integer> failed = accepted != null ? accepted.keySet() : chunk.keySet();
+            for (Integer index : failed) {
+                results.add(new ChallengeBulkItemDTOView(index, null, BulkItemStatus.FAILED, e.getMessage()));
+            }
+        } finally {
+            chunk.clear();
+        }
+    }
+
+    private static ChallengeBulkItemDTOView rejected(int index, String message) {
+        return new ChallengeBulkItemDTOView(index, null, BulkItemStatus.REJECTED, message);
+    }
+
+}
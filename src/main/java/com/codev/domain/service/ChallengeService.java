@@ -4,6 +4,7 @@ import com.codev.domain.dto.form.ChallengeDTOForm;
 import com.codev.domain.dto.view.ChallengeDTOView;
 import com.codev.domain.dto.view.TechnologyDTOView;
 import com.codev.domain.enums.ChallengeStatus;
+import com.codev.domain.enums.FetchPlan;
 import com.codev.domain.enums.OrderBy;
 import com.codev.domain.exceptions.challenges.CategoryAlreadyExistsInChallenge;
 import com.codev.domain.exceptions.challenges.JoinNotAcceptedException;
@@ -13,39 +14,79 @@ import com.codev.domain.model.Challenge;
 import com.codev.domain.model.Technology;
 import com.codev.domain.model.User;
 import com.codev.domain.repository.ChallengeRepository;
+import com.codev.infraestructure.leaderboard.ChallengeLeaderboards;
+import com.codev.infraestructure.search.ChallengeSearchIndex;
 import com.codev.utils.GlobalConstants;
+import com.codev.utils.helpers.ChallengeCursor;
+import com.codev.utils.helpers.ChallengePatcher;
+import com.codev.utils.helpers.ChallengeSearchCursor;
+import com.codev.utils.helpers.ChallengeSearchPage;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.beanutils.BeanUtils;
 
-import java.lang.reflect.InvocationTargetException;
 import java.sql.SQLException;
-import java.util.List;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
 @RequiredArgsConstructor
 public class ChallengeService {
 
+    private static final int MAX_SEARCH_SIZE = 50;
+
     private final ChallengeRepository challengeRepository;
 
-    public Set<ChallengeDTOView> findAllChallengesWithPaging(Integer page, Integer size, UUID categoryId, OrderBy orderBy) {
-        return challengeRepository.findAllChallengesWithPaging(page, size, categoryId, orderBy).stream().map(
-            challenge -> {
-                Set<TechnologyDTOView> technologiesDTOView = challenge.getTechnologies().stream()
-                    .map(TechnologyDTOView::new).collect(Collectors.toSet());
-
-                return new ChallengeDTOView(
-                    challenge, 
-                    challenge.getCategory(),
-                    technologiesDTOView
-                );
-            })
-            .collect(Collectors.toSet());
+    private final ChallengeSearchIndex challengeSearchIndex;
+
+    private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    private final ChallengeLeaderboards challengeLeaderboards;
+
+    public List<ChallengeDTOView> findAllChallengesWithPaging(
+        Integer page, Integer size, UUID categoryId, OrderBy orderBy, ChallengeCursor cursor
+    ) {
+        return challengeRepository.findAllChallengesWithPaging(page, size, categoryId, orderBy, cursor).stream()
+            .map(this::toCardView)
+            .toList();
+    }
+
+    public ChallengeSearchPage searchChallenges(
+        String query, UUID categoryId, ChallengeStatus status, ChallengeSearchCursor cursor, Integer size
+    ) {
+        if (size <= 0 || size > MAX_SEARCH_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SEARCH_SIZE + ".");
+        }
+
+        List<ChallengeSearchIndex.Hit> hits = challengeSearchIndex.search(query, categoryId, status, cursor, size);
+
+        List<ChallengeDTOView> challenges = challengeRepository.findAllByIds(
+                hits.stream().map(ChallengeSearchIndex.Hit::id).toList(), FetchPlan.CARD
+            ).stream()
+            .map(this::toCardView)
+            .toList();
+
+        String nextCursor = null;
+        if (hits.size() == size) {
+            ChallengeSearchIndex.Hit last = hits.get(hits.size() - 1);
+            nextCursor = new ChallengeSearchCursor(last.score(), last.id()).encode();
+        }
+
+        return new ChallengeSearchPage(challenges, nextCursor);
+    }
+
+    private ChallengeDTOView toCardView(Challenge challenge) {
+        Set<TechnologyDTOView> technologiesDTOView = challenge.getTechnologies().stream()
+            .map(TechnologyDTOView::new).collect(Collectors.toSet());
+
+        return new ChallengeDTOView(
+            challenge,
+            challenge.getCategory(),
+            technologiesDTOView
+        );
     }
 
     public Challenge findById(UUID challengeId) {
@@ -57,6 +98,15 @@ public class ChallengeService {
         return challenge;
     }
 
+    public Challenge findById(UUID challengeId, FetchPlan fetchPlan) {
+        Challenge challenge = challengeRepository.findById(challengeId, fetchPlan);
+
+        if (challenge == null)
+            throw new EntityNotFoundException("Challenge not found");
+
+        return challenge;
+    }
+
     public List<Technology> findAllTechnologiesByChallengeId(UUID challengeId) {
         return challengeRepository.findAllTechnologiesByChallengeId(challengeId);
     }
@@ -95,31 +145,61 @@ public class ChallengeService {
 
         challenge.setAuthor(author);
 
+        List<Technology> technologies = findTechnologies(challengeDTOForm.getTechnologyIds());
+
         challenge.persist();
+        challengeRepository.addTechnologiesInChallenge(challenge, technologies);
+        challengeSearchIndex.indexAfterCommit(challenge, transactionSynchronizationRegistry);
+
+        Set<TechnologyDTOView> technologiesDTOView = technologies.stream()
+            .map(TechnologyDTOView::new).collect(Collectors.toSet());
+
+        return new ChallengeDTOView(challenge, challenge.getCategory(), technologiesDTOView);
+    }
 
-        // TODO - Implement the technologies in the challenge
+    private List<Technology> findTechnologies(Set<UUID> technologyIds) {
+        if (technologyIds == null || technologyIds.isEmpty())
+            return new ArrayList<>();
 
-        if (categoryId != null) {
-            return new ChallengeDTOView(challenge, challenge.getCategory());
+        List<Technology> technologies = Technology.list("id in ?1", technologyIds);
+
+        if (technologies.size() < technologyIds.size()) {
+            Set<UUID> missingIds = new HashSet<>(technologyIds);
+            technologies.forEach(technology -> missingIds.remove(technology.getId()));
+            throw new EntityNotFoundException("Technology not found with id " + missingIds.iterator().next());
         }
 
-        return new ChallengeDTOView(challenge);
+        return technologies;
     }
 
+    /**
+     * Applies the form, validated whole by PUT. When {@code expectedVersion} is given the update only
+     * goes through if the challenge is still at that version; in any case the row is written with
+     * a version check, so a concurrent update fails with an OptimisticLockException instead of
+     * being overwritten.
+     */
     @Transactional
-    public Challenge updateChallenge(UUID challengeId, ChallengeDTOForm challengeDTOForm) throws InvocationTargetException, IllegalAccessException {
-        Challenge challenge = Challenge.findById(challengeId);
-        BeanUtils.copyProperties(challenge, challengeDTOForm);
+    public Challenge updateChallenge(UUID challengeId, ChallengeDTOForm challengeDTOForm, Long expectedVersion) {
+        Challenge challenge = challengeRepository.findById(challengeId, FetchPlan.ADMIN);
 
-        if (challengeDTOForm.getCategoryId() != null) {
-            Category category = Category.findById(challengeDTOForm.getCategoryId());
-            if (category == null)
-                throw new EntityNotFoundException("Category not found with id " + challengeDTOForm.getCategoryId());
+        if (challenge == null)
+            throw new EntityNotFoundException("Challenge not found with id " + challengeId);
 
-            challenge.setCategory(category);
-        }
+        if (expectedVersion != null && expectedVersion != challenge.getVersion())
+            throw new OptimisticLockException("Challenge " + challengeId + " is at version " + challenge.getVersion());
 
-        challenge.persist();
+        ChallengePatcher.apply(challenge, challengeDTOForm);
+
+        Category category = Category.findById(challengeDTOForm.getCategoryId());
+        if (category == null)
+            throw new EntityNotFoundException("Category not found with id " + challengeDTOForm.getCategoryId());
+
+        challenge.setCategory(category);
+
+        // Flushed here so a version conflict surfaces from this method and the new version is known
+        challenge.persistAndFlush();
+        challengeSearchIndex.indexAfterCommit(challenge, transactionSynchronizationRegistry);
+        challengeLeaderboards.evictAfterCommit(challengeId);
         return challenge;
     }
     
@@ -132,6 +212,8 @@ public class ChallengeService {
 
         challenge.setActive(GlobalConstants.DEACTIVATE);
         challenge.persist();
+        challengeSearchIndex.removeAfterCommit(challengeId, transactionSynchronizationRegistry);
+        challengeLeaderboards.evictAfterCommit(challengeId);
     }
 
     @Transactional
@@ -146,7 +228,7 @@ public class ChallengeService {
 
     @Transactional
     public Challenge addCategoryInChallenge(UUID challengeId, UUID categoryId) throws CategoryAlreadyExistsInChallenge, SQLException {
-        Challenge challenge = Challenge.findById(challengeId);
+        Challenge challenge = challengeRepository.findById(challengeId, FetchPlan.ADMIN);
 
         if (challenge == null)
             throw new EntityNotFoundException("Challenge not found with id " + challengeId);
@@ -162,12 +244,13 @@ public class ChallengeService {
         challengeRepository.addCategoryInChallenge(challengeId, categoryId);
 
         challenge.setCategory(category);
+        challengeSearchIndex.indexAfterCommit(challenge, transactionSynchronizationRegistry);
         return challenge;
     }
 
     @Transactional
     public Challenge removeCategoryInChallenge(UUID challengeId) throws SQLException {
-        Challenge challenge = Challenge.findById(challengeId);
+        Challenge challenge = challengeRepository.findById(challengeId, FetchPlan.ADMIN);
 
         if (challenge == null)
             throw new EntityNotFoundException("Challenge not found with id " + challengeId);
@@ -175,6 +258,7 @@ public class ChallengeService {
         challengeRepository.removeCategoryInChallenge(challengeId);
 
         challenge.setCategory(null);
+        challengeSearchIndex.indexAfterCommit(challenge, transactionSynchronizationRegistry);
         return challenge;
     }
 
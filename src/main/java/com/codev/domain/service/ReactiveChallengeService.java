@@ -0,0 +1,34 @@
+package com.codev.domain.service;
+
+import com.codev.domain.dto.view.ChallengeDTOView;
+import com.codev.domain.enums.OrderBy;
+import com.codev.domain.repository.ReactiveChallengeRepository;
+import com.codev.utils.helpers.ChallengeCursor;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@ApplicationScoped
+@RequiredArgsConstructor
+@IfBuildProperty(name = "codev.challenges.reactive-read.enabled", stringValue = "true")
+public class ReactiveChallengeService {
+
+    private final ReactiveChallengeRepository reactiveChallengeRepository;
+
+    public Uni<List<ChallengeDTOView>> findAllChallengesWithPaging(
+        Integer page, Integer size, UUID categoryId, OrderBy orderBy, ChallengeCursor cursor
+    ) {
+        return reactiveChallengeRepository.findAllChallengesWithPaging(page, size, categoryId, orderBy, cursor);
+    }
+
+    public Uni<ChallengeDTOView> findById(UUID challengeId) {
+        return reactiveChallengeRepository.findById(challengeId)
+            .onItem().ifNull().failWith(() -> new EntityNotFoundException("Challenge not found"));
+    }
+
+}
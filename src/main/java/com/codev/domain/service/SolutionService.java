@@ -1,6 +1,7 @@
 package com.codev.domain.service;
 
 import com.codev.domain.dto.form.SolutionDTOForm;
+import com.codev.domain.dto.view.LeaderboardEntryDTOView;
 import com.codev.domain.dto.view.LikeDTOView;
 import com.codev.domain.dto.view.SolutionDTOView;
 import com.codev.domain.exceptions.solutions.LikeNotAcceptedException;
@@ -9,6 +10,8 @@ import com.codev.domain.model.Challenge;
 import com.codev.domain.model.Solution;
 import com.codev.domain.model.User;
 import com.codev.domain.repository.SolutionRepository;
+import com.codev.infraestructure.buffer.LikeWriteBehindBuffer;
+import com.codev.infraestructure.leaderboard.ChallengeLeaderboards;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
@@ -21,14 +24,40 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class SolutionService {
 
+    private static final int MAX_LEADERBOARD_LIMIT = 100;
+
     private final SolutionRepository solutionRepository;
 
     private final ChallengeService challengeService;
 
+    private final LikeWriteBehindBuffer likeWriteBehindBuffer;
+
+    private final ChallengeLeaderboards challengeLeaderboards;
+
     public List<SolutionDTOView> findAllSolutionsByChallengeId(
             UUID challengeId, UUID userId, Integer page, Integer size
     ) {
-        return solutionRepository.findAllSolutionsByChallengeId(challengeId, userId, page, size);
+        List<SolutionDTOView> solutions = solutionRepository.findAllSolutionsByChallengeId(challengeId, userId, page, size);
+
+        if (likeWriteBehindBuffer.isEnabled() && userId != null) {
+            for (SolutionDTOView solution : solutions) {
+                Boolean pendingLike = likeWriteBehindBuffer.findPendingLike(solution.getSolutionId(), userId);
+
+                if (pendingLike != null && pendingLike != solution.isLiked()) {
+                    solution.setLiked(pendingLike);
+                    solution.setLikes(Math.max(solution.getLikes() + (pendingLike ? 1 : -1), 0));
+                }
+            }
+        }
+
+        return solutions;
+    }
+
+    public List<LeaderboardEntryDTOView> findLeaderboard(UUID challengeId, Integer limit) {
+        if (limit <= 0 || limit > MAX_LEADERBOARD_LIMIT)
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LEADERBOARD_LIMIT + ".");
+
+        return challengeLeaderboards.top(challengeId, limit);
     }
 
     @Transactional
@@ -45,22 +74,43 @@ public class SolutionService {
         solution.setAuthor(author);
 
         Solution.persist(solution);
+        solutionRepository.incrementSolutionsCount(challengeId);
+
+        challengeLeaderboards.addAfterCommit(challengeId, new LeaderboardEntryDTOView(
+            0, solution.getId(), author.getId(), author.getName(), solution.getRepositoryUrl(), solution.getDeployUrl(), 0
+        ));
         return new SolutionDTOView(solution);
     }
 
-    @Transactional
+    // No transaction: the buffered path stays in memory, the direct one is a single autocommitted statement
     public LikeDTOView addLike(UUID solutionId, UUID userId) throws LikeNotAcceptedException {
-        return solutionRepository.addLike(solutionId, userId);
+        if (likeWriteBehindBuffer.isEnabled())
+            return likeWriteBehindBuffer.offer(solutionId, userId, true);
+
+        return updateLeaderboard(solutionId, solutionRepository.addLike(solutionId, userId));
     }
 
-    @Transactional
     public LikeDTOView removeLike(UUID solutionId, UUID userId) throws LikeNotAcceptedException {
-        return solutionRepository.removeLike(solutionId, userId);
+        if (likeWriteBehindBuffer.isEnabled())
+            return likeWriteBehindBuffer.offer(solutionId, userId, false);
+
+        return updateLeaderboard(solutionId, solutionRepository.removeLike(solutionId, userId));
+    }
+
+    private LikeDTOView updateLeaderboard(UUID solutionId, LikeDTOView like) {
+        if (Boolean.TRUE.equals(like.getChanged()) && like.getLikesVersion() != null)
+            challengeLeaderboards.updateAfterCommit(solutionId, like.getLikes(), like.getLikesVersion());
+
+        return like;
     }
 
     @Transactional
     public boolean deleteSolution(UUID solutionId, UUID authorId) throws SolutionNotDeletedException {
-        solutionRepository.removeLikeBySolutionId(solutionId);
-        return solutionRepository.deleteSolution(solutionId, authorId);
+        boolean deleted = solutionRepository.deleteSolution(solutionId, authorId);
+
+        if (deleted)
+            challengeLeaderboards.removeAfterCommit(solutionId);
+
+        return deleted;
     }
 }
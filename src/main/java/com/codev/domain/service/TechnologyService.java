@@ -1,31 +1,52 @@
 package com.codev.domain.service;
 
 import com.codev.domain.dto.form.TechnologyDTOForm;
+import com.codev.domain.dto.view.TechnologyDTOView;
 import com.codev.domain.model.Technology;
 import com.codev.domain.repository.TechnologyRepository;
+import com.codev.utils.helpers.JsonResponseCache;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.bind.Jsonb;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 import java.util.UUID;
 
 @ApplicationScoped
-@RequiredArgsConstructor
 public class TechnologyService {
 
     private final TechnologyRepository technologyRepository;
 
+    private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    private final JsonResponseCache technologiesCache;
+
+    public TechnologyService(
+            TechnologyRepository technologyRepository,
+            TransactionSynchronizationRegistry transactionSynchronizationRegistry,
+            Jsonb jsonb
+    ) {
+        this.technologyRepository = technologyRepository;
+        this.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+        this.technologiesCache = new JsonResponseCache(jsonb);
+    }
+
 
     public List<Technology> findAllTechnologies() {
         return technologyRepository.findAllTechnologies();
     }
 
+    public JsonResponseCache.Entry findAllTechnologiesAsJson() {
+        return technologiesCache.get(() -> findAllTechnologies().stream().map(TechnologyDTOView::new).toList());
+    }
+
     @Transactional
     public Technology createTechnology(TechnologyDTOForm technologyDTOForm) {
         Technology technology = new Technology(technologyDTOForm);
         technology.persist();
+        technologiesCache.invalidateAfterCompletion(transactionSynchronizationRegistry);
         return technology;
     }
 
@@ -37,6 +58,7 @@ public class TechnologyService {
 
         technology = technology.copyProperties(technologyDTOForm);
         technology.persist();
+        technologiesCache.invalidateAfterCompletion(transactionSynchronizationRegistry);
         return technology;
     }
 
@@ -47,5 +69,6 @@ public class TechnologyService {
             throw new EntityNotFoundException("Technology does not exist and therefore it was not possible to delete");
 
         technologyRepository.deleteTechnology(technologyId);
+        technologiesCache.invalidateAfterCompletion(transactionSynchronizationRegistry);
     }
 }
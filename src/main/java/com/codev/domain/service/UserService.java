@@ -2,12 +2,16 @@ package com.codev.domain.service;
 
 import com.codev.api.security.auth.AuthRequest;
 import com.codev.api.security.auth.AuthResponse;
+import com.codev.api.security.auth.LoginAdmissionController;
 import com.codev.api.security.auth.PBKDF2Encoder;
-import com.codev.api.security.token.TokenUtils;
+import com.codev.api.security.token.TokenService;
 import com.codev.domain.dto.form.UserDTOForm;
 import com.codev.domain.dto.form.UserFiltersDTOForm;
+import com.codev.domain.dto.view.LoginAdmissionDTOView;
 import com.codev.domain.dto.view.UserDTOView;
 import com.codev.domain.exceptions.token.GenerateTokenExcepetion;
+import com.codev.domain.exceptions.users.LoginThrottledException;
+import com.codev.domain.exceptions.users.PasswordHashingBusyException;
 import com.codev.domain.exceptions.users.UnathorizedLoginMessage;
 import com.codev.domain.exceptions.users.UserDeactivatedException;
 import com.codev.domain.exceptions.users.UserHasAdminRoleException;
@@ -15,15 +19,23 @@ import com.codev.domain.model.Role;
 import com.codev.domain.model.User;
 import com.codev.domain.repository.RoleRepository;
 import com.codev.domain.repository.UserRepository;
+import com.codev.infraestructure.concurrency.ConnectionPoolGate;
 import com.codev.utils.GlobalConstants;
-import com.codev.utils.helpers.DtoTransformer;
-import com.codev.utils.helpers.NullAwareBeanUtilsBean;
+import com.codev.utils.helpers.UserPatcher;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.bind.Jsonb;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.NoResultException;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.jboss.logging.Logger;
 
-import java.lang.reflect.InvocationTargetException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -32,19 +44,50 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final Logger LOG = Logger.getLogger(UserService.class);
+
     private final UserRepository userRepository;
 
     private final RoleRepository roleRepository;
 
     private final PBKDF2Encoder passwordEncoder;
 
-    public List<UserDTOView> findAllUsers(UserFiltersDTOForm filters) {
-        List<User> users = userRepository.findAllUsers(filters);
+    private final TokenService tokenService;
+
+    private final LoginAdmissionController loginAdmissionController;
+
+    private final ConnectionPoolGate connectionPoolGate;
+
+    private final Jsonb jsonb;
 
-        DtoTransformer<User, UserDTOView> transformer = new DtoTransformer<>();
-        List<UserDTOView> userDTOList = transformer.transformToDTOList(users, UserDTOView.class);
-        
-        return userDTOList;
+    public List<UserDTOView> findAllUsers(UserFiltersDTOForm filters, UUID cursor, Integer size) {
+        return userRepository.findAllUsers(filters, cursor, size)
+                .stream()
+                .map(UserDTOView::new)
+                .toList();
+    }
+
+    /**
+     * Writes every matching user as one JSON document per line. Rows are serialized as they are
+     * read, so memory use does not depend on the number of users.
+     */
+    public void exportUsers(UserFiltersDTOForm filters, OutputStream output) throws SQLException, IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+
+        try {
+            userRepository.exportUsers(filters, user -> {
+                try {
+                    writer.write(jsonb.toJson(user));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
     }
 
     public User findUserById(UUID userId) throws UserDeactivatedException {
@@ -57,7 +100,7 @@ public class UserService {
     }
 
     @Transactional
-    public UserDTOView createUser(UserDTOForm userDTOForm) {
+    public UserDTOView createUser(UserDTOForm userDTOForm) throws PasswordHashingBusyException {
 
         User user = new User(userDTOForm);
         user.setPassword(passwordEncoder.encode(userDTOForm.getPassword()));
@@ -91,17 +134,21 @@ public class UserService {
     }
 
     @Transactional
-    public UserDTOView updateUser(UUID userId, UserDTOForm userDTOForm) throws InvocationTargetException, IllegalAccessException {
-        User user = User.findById(userId);
+    public User updateUser(UUID userId, UserDTOForm userDTOForm, Long expectedVersion) throws PasswordHashingBusyException {
+        User user = userRepository.findById(userId);
 
-        if (user == null)
-            throw new EntityNotFoundException("User not found");
+        if (expectedVersion != null && expectedVersion != user.getVersion())
+            throw new OptimisticLockException("User " + userId + " is at version " + user.getVersion());
 
-        NullAwareBeanUtilsBean.getInstance().copyProperties(user, userDTOForm);
+        UserPatcher.apply(user, userDTOForm);
+        user.setPassword(passwordEncoder.encode(userDTOForm.getPassword()));
         user.setUpdatedAt(LocalDateTime.now());
-        user.persist();
+        user.persistAndFlush();
 
-        return new UserDTOView(user);
+        // The view is built by the caller, after the transaction
+        Hibernate.initialize(user.getLabels());
+        Hibernate.initialize(user.getRoles());
+        return user;
     }
 
     @Transactional
@@ -117,20 +164,80 @@ public class UserService {
         user.persist();
     }
 
-    @Transactional
-    public AuthResponse login(AuthRequest authRequest) throws GenerateTokenExcepetion, UnathorizedLoginMessage {
-        User user = userRepository.findByUsername(authRequest.username);
-        String passwordEncode = passwordEncoder.encode(authRequest.password);
-
-        if (user != null && user.getPassword().equals(passwordEncode)) {
-            try {
-                return new AuthResponse(TokenUtils.generateToken(user.getEmail(), user.getRoles()));
-            } catch (Exception e) {
-                throw new GenerateTokenExcepetion();
+    /*
+     * Not @Transactional: lookup and PBKDF2 run without holding a transaction, and only an
+     * outdated hash is replaced in its own short transaction.
+     */
+    public AuthResponse login(AuthRequest authRequest, String clientAddress)
+            throws GenerateTokenExcepetion, UnathorizedLoginMessage, PasswordHashingBusyException, LoginThrottledException {
+        try (LoginAdmissionController.Permit permit = loginAdmissionController.admit(authRequest.username, clientAddress)) {
+            User user = findLoginUser(authRequest.username);
+
+            boolean matches = user != null
+                    ? passwordEncoder.matches(authRequest.password, user.getPassword())
+                    : passwordEncoder.matchesNone(authRequest.password);
+
+            if (matches) {
+                if (passwordEncoder.needsRehash(user.getPassword()))
+                    rehash(user.getId(), user.getPassword(), passwordEncoder.encode(authRequest.password));
+
+                try {
+                    return new AuthResponse(tokenService.generateToken(user.getEmail(), user.getRoles()));
+                } catch (Exception e) {
+                    throw new GenerateTokenExcepetion();
+                }
+            } else {
+                throw new UnathorizedLoginMessage();
             }
-        } else {
-            throw new UnathorizedLoginMessage();
         }
     }
 
+    /*
+     * Sets the new hash on the loaded user rather than with a bulk update, so the version is bumped
+     * and only this user's cache entry changes. A hash that changed since it was verified is left
+     * alone, and losing to a concurrent update only postpones the upgrade to the next login.
+     */
+    private void rehash(UUID userId, String verifiedPassword, String rehashedPassword) {
+        connectionPoolGate.acquire();
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                User user = User.findById(userId);
+
+                if (user != null && verifiedPassword.equals(user.getPassword())) {
+                    user.setPassword(rehashedPassword);
+                    user.persistAndFlush();
+                }
+            });
+        } catch (OptimisticLockException e) {
+            LOG.debugf("User %s changed during login, its password hash is upgraded on a later login", userId);
+        } finally {
+            connectionPoolGate.release();
+        }
+    }
+
+    /*
+     * An unknown or deactivated email goes down the same path as a wrong password. The user and its
+     * roles are read in a transaction of their own, which hands the connection back to the pool, and
+     * the gate permit is released with it: the password check that follows takes far longer than
+     * the read and needs neither.
+     */
+    private User findLoginUser(String email) {
+        connectionPoolGate.acquire();
+        try {
+            return QuarkusTransaction.requiringNew().call(() -> {
+                User user = userRepository.findByUsername(email);
+                Hibernate.initialize(user.getRoles());
+                return user;
+            });
+        } catch (NoResultException e) {
+            return null;
+        } finally {
+            connectionPoolGate.release();
+        }
+    }
+
+    public LoginAdmissionDTOView getLoginAdmissionStats() {
+        return loginAdmissionController.getStats();
+    }
+
 }
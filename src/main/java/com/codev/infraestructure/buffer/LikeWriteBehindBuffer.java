@@ -0,0 +1,208 @@
+package com.codev.infraestructure.buffer;
+
+import com.codev.domain.dto.form.LikeDTOForm;
+import com.codev.domain.dto.view.LikeDTOView;
+import com.codev.domain.dto.view.SolutionLikesDTOView;
+import com.codev.domain.exceptions.solutions.LikeBufferClosedException;
+import com.codev.domain.repository.SolutionRepository;
+import com.codev.infraestructure.leaderboard.ChallengeLeaderboards;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional write-behind mode for likes. Each like/unlike only records the desired state per
+ * (solution, user), so repeated flips coalesce into the last one, and a single flusher thread
+ * writes them with JDBC batches when the buffer grows past its size or its interval elapses.
+ * Once shutdown starts, new likes are refused and a last flush writes everything accepted before.
+ */
+@ApplicationScoped
+public class LikeWriteBehindBuffer {
+
+    private static final Logger LOG = Logger.getLogger(LikeWriteBehindBuffer.class);
+
+    private final SolutionRepository solutionRepository;
+
+    private final ChallengeLeaderboards challengeLeaderboards;
+
+    private final boolean enabled;
+
+    private final int maxPending;
+
+    private final long flushIntervalMs;
+
+    private final Map<LikeKey, Boolean> pending = new ConcurrentHashMap<>();
+
+    // Intents taken by the running flush; still visible to readers until they are committed
+    private final Map<LikeKey, Boolean> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    // Offers hold the read lock while they buffer, shutdown takes the write lock to close the buffer
+    private final ReadWriteLock admission = new ReentrantReadWriteLock();
+
+    private boolean closed;
+
+    // One flush at a time, so the final flush cannot be overtaken by one the flusher still runs
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private ScheduledExecutorService flusher;
+
+    public LikeWriteBehindBuffer(
+            SolutionRepository solutionRepository,
+            ChallengeLeaderboards challengeLeaderboards,
+            @ConfigProperty(name = "codev.likes.write-behind.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "codev.likes.write-behind.max-pending", defaultValue = "1000") int maxPending,
+            @ConfigProperty(name = "codev.likes.write-behind.flush-interval-ms", defaultValue = "250") long flushIntervalMs
+    ) {
+        this.solutionRepository = solutionRepository;
+        this.challengeLeaderboards = challengeLeaderboards;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled)
+            return;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "like-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (flusher == null)
+            return;
+
+        admission.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            admission.writeLock().unlock();
+        }
+
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(10, TimeUnit.SECONDS))
+                LOG.warn("Like flusher did not stop in time, the final flush waits for its running flush");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffers the like state without touching the database. Whether it changed is only known
+     * against a state still buffered for the user; otherwise it is reported as unknown (null),
+     * since reading tb_like would take the connection per like the buffer is there to save.
+     */
+    public LikeDTOView offer(UUID solutionId, UUID userId, boolean liked) {
+        LikeKey key = new LikeKey(solutionId, userId);
+
+        Boolean buffered = findPendingLike(solutionId, userId);
+
+        admission.readLock().lock();
+        try {
+            if (closed)
+                throw new LikeBufferClosedException();
+
+            pending.put(key, liked);
+
+            if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true))
+                flusher.execute(this::flush);
+        } finally {
+            admission.readLock().unlock();
+        }
+
+        return new LikeDTOView(liked, buffered != null ? buffered != liked : null, null);
+    }
+
+    /**
+     * The like state of the user that is not persisted yet, or null when there is none, so the
+     * acting user reads back their own writes before the next flush.
+     */
+    public Boolean findPendingLike(UUID solutionId, UUID userId) {
+        LikeKey key = new LikeKey(solutionId, userId);
+        Boolean liked = pending.get(key);
+        return liked != null ? liked : inFlight.get(key);
+    }
+
+    void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        flushRequested.set(false);
+
+        if (pending.isEmpty())
+            return;
+
+        List<LikeDTOForm> likes = new ArrayList<>();
+        for (Map.Entry<LikeKey, Boolean> entry : pending.entrySet()) {
+            LikeKey key = entry.getKey();
+            Boolean liked = entry.getValue();
+
+            inFlight.put(key, liked);
+            if (pending.remove(key, liked)) {
+                likes.add(new LikeDTOForm(key.solutionId(), key.userId(), liked));
+            } else {
+                // Flipped again meanwhile, the newer state stays pending for the next flush
+                inFlight.remove(key, liked);
+            }
+        }
+
+        List<SolutionLikesDTOView> counts = new ArrayList<>();
+        try {
+            counts.addAll(solutionRepository.saveLikesInBatch(likes));
+        } catch (RuntimeException e) {
+            LOG.warn("Batched like flush failed, retrying one by one", e);
+            for (LikeDTOForm like : likes) {
+                try {
+                    counts.addAll(solutionRepository.saveLikesInBatch(List.of(like)));
+                } catch (RuntimeException itemError) {
+                    LOG.errorf(itemError, "Dropping like of user %s on solution %s", like.getUserId(), like.getSolutionId());
+                }
+            }
+        } finally {
+            for (LikeDTOForm like : likes) {
+                inFlight.remove(new LikeKey(like.getSolutionId(), like.getUserId()), like.isLiked());
+            }
+        }
+
+        // The flush has committed and runs outside any transaction, so the boards move right away
+        for (SolutionLikesDTOView count : counts)
+            challengeLeaderboards.updateAfterCommit(count.getSolutionId(), count.getLikes(), count.getLikesVersion());
+    }
+
+    private record LikeKey(UUID solutionId, UUID userId) {}
+
+}
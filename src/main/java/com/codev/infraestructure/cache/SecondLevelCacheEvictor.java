@@ -0,0 +1,51 @@
+package com.codev.infraestructure.cache;
+
+import com.codev.domain.model.User;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+
+import java.util.UUID;
+
+/**
+ * Evicts second-level cache entries for rows written with plain JDBC, which Hibernate does not
+ * see. The only such write today is the user role grant in RoleRepositoryImpl; users and labels
+ * are written through Hibernate, which keeps their cache entries current itself.
+ * The entry is dropped right away and, inside a transaction, once more after completion, so a
+ * concurrent read of the not yet committed state cannot leave it cached.
+ */
+@ApplicationScoped
+@RequiredArgsConstructor
+public class SecondLevelCacheEvictor {
+
+    public static final String USER_ROLES_REGION = User.class.getName() + ".roles";
+
+    private final SessionFactory sessionFactory;
+
+    private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    public void evictUserRoles(UUID userId) {
+        evict(() -> sessionFactory.getCache().evictCollectionData(USER_ROLES_REGION, userId));
+    }
+
+    private void evict(Runnable eviction) {
+        eviction.run();
+
+        if (transactionSynchronizationRegistry.getTransactionStatus() != Status.STATUS_ACTIVE)
+            return;
+
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {}
+
+            @Override
+            public void afterCompletion(int status) {
+                eviction.run();
+            }
+        });
+    }
+
+}
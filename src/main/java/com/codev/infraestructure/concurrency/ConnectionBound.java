@@ -0,0 +1,20 @@
+package com.codev.infraestructure.concurrency;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks endpoints that use a database connection, so at most as many of them run at once as
+ * the connection pool can serve. See {@link ConnectionPoolGate}. Endpoints usually answered from
+ * memory, such as the leaderboards and the cached category and technology lists, are not marked;
+ * the leaderboards take a permit from the gate only around their loads.
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ConnectionBound {
+}
@@ -0,0 +1,31 @@
+package com.codev.infraestructure.concurrency;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+@ConnectionBound
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class ConnectionBoundInterceptor {
+
+    private final ConnectionPoolGate connectionPoolGate;
+
+    @Inject
+    public ConnectionBoundInterceptor(ConnectionPoolGate connectionPoolGate) {
+        this.connectionPoolGate = connectionPoolGate;
+    }
+
+    @AroundInvoke
+    Object admit(InvocationContext context) throws Exception {
+        connectionPoolGate.acquire();
+        try {
+            return context.proceed();
+        } finally {
+            connectionPoolGate.release();
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.codev.infraestructure.concurrency;
+
+import com.codev.domain.exceptions.database.ConnectionPoolSaturatedException;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission in front of the connection pool. On virtual threads nothing bounds the number of
+ * requests in flight, and letting all of them queue inside Agroal turns a slow database into
+ * thousands of threads waiting for a connection until the acquisition timeout. Requests wait
+ * here instead, at most the configured time, and are rejected once it elapses.
+ */
+@ApplicationScoped
+public class ConnectionPoolGate {
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutMs;
+
+    public ConnectionPoolGate(
+            @ConfigProperty(name = "quarkus.datasource.jdbc.max-size", defaultValue = "20") int poolSize,
+            @ConfigProperty(name = "codev.connection-gate.max-concurrent", defaultValue = "0") int maxConcurrent,
+            @ConfigProperty(name = "codev.connection-gate.acquire-timeout-ms", defaultValue = "2000") long acquireTimeoutMs
+    ) {
+        // 0 follows the pool size, since each request holds one connection at a time
+        this.permits = new Semaphore(maxConcurrent > 0 ? maxConcurrent : poolSize, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    public void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS))
+                throw new ConnectionPoolSaturatedException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionPoolSaturatedException();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+}
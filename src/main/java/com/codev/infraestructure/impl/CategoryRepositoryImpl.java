@@ -1,6 +1,7 @@
 package com.codev.infraestructure.impl;
 
 import com.codev.domain.model.Category;
+import com.codev.domain.model.Challenge;
 import com.codev.domain.repository.CategoryRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
@@ -8,6 +9,7 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NativeQuery;
 
 import java.util.List;
 import java.util.UUID;
@@ -39,11 +41,15 @@ public class CategoryRepositoryImpl implements CategoryRepository {
         String deleteCategoryInChallengeQuery = "UPDATE tb_challenge SET category_id = NULL WHERE category_id = :categoryId";
         entityManager.createNativeQuery(deleteCategoryInChallengeQuery)
                 .setParameter("categoryId", categoryId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Challenge.class)
                 .executeUpdate();
 
         String deleteCategoryQuery = "DELETE FROM tb_category WHERE id = :categoryId";
         entityManager.createNativeQuery(deleteCategoryQuery)
                 .setParameter("categoryId", categoryId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Category.class)
                 .executeUpdate();
 
     }
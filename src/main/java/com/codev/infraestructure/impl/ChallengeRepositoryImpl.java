@@ -1,5 +1,6 @@
 package com.codev.infraestructure.impl;
 
+import com.codev.domain.enums.FetchPlan;
 import com.codev.domain.enums.OrderBy;
 import com.codev.domain.exceptions.challenges.JoinNotAcceptedException;
 import com.codev.domain.exceptions.challenges.UnjoinNotAcceptedException;
@@ -8,10 +9,12 @@ import com.codev.domain.model.ChallengeTechnology;
 import com.codev.domain.model.Technology;
 import com.codev.domain.repository.ChallengeRepository;
 import com.codev.utils.GlobalConstants;
+import com.codev.utils.helpers.ChallengeCursor;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import lombok.RequiredArgsConstructor;
 
@@ -19,6 +22,7 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @ApplicationScoped
@@ -56,27 +60,19 @@ public class ChallengeRepositoryImpl implements ChallengeRepository {
             throw new IllegalArgumentException("Page must be a positive integer.");
         }
 
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Challenge> criteriaQuery = criteriaBuilder.createQuery(Challenge.class);
+        List<UUID> challengeIds = findChallengeIdsPage(page, size, categoryId, OrderBy.ASC, null);
 
-        Root<Challenge> challengeRoot = criteriaQuery.from(Challenge.class);
+        return findAllByIds(challengeIds, FetchPlan.CARD);
 
-        criteriaQuery.select(challengeRoot);
+    }
 
-        criteriaQuery.where(
-                criteriaBuilder.equal(challengeRoot.get("category").get("id"), categoryId),
-                criteriaBuilder.equal(challengeRoot.get("active"), GlobalConstants.ACTIVE)
+    @Override
+    public Challenge findById(UUID challengeId, FetchPlan fetchPlan) {
+        return entityManager.find(
+                Challenge.class,
+                challengeId,
+                Map.of(FetchPlan.FETCH_GRAPH_HINT, entityManager.getEntityGraph(fetchPlan.graphOf(Challenge.class)))
         );
-
-        challengeRoot.fetch("author", JoinType.LEFT);
-
-        int firstResult = page * size;
-
-        return entityManager.createQuery(criteriaQuery)
-                .setFirstResult(firstResult)
-                .setMaxResults(size)
-                .getResultList();
-
     }
 
     @Override
@@ -111,61 +107,127 @@ public class ChallengeRepositoryImpl implements ChallengeRepository {
     }
 
     @Override
-    public Set<Challenge> findAllChallengesWithPaging(
-        Integer page, Integer size, UUID categoryId, OrderBy orderBy
+    public List<Challenge> findAllChallengesWithPaging(
+        Integer page, Integer size, UUID categoryId, OrderBy orderBy, ChallengeCursor cursor
     ) {
         if (page < 0) {
             throw new IllegalArgumentException("Page must be a positive integer.");
         }
-        
+
+        List<UUID> challengeIds = findChallengeIdsPage(page, size, categoryId, orderBy, cursor);
+
+        return findAllByIds(challengeIds, FetchPlan.CARD);
+    }
+
+    /*
+     * Hydrates a page of challenges with one statement shaped by the fetch plan, keeping the order of the ids.
+     */
+    @Override
+    public List<Challenge> findAllByIds(List<UUID> challengeIds, FetchPlan fetchPlan) {
+        if (challengeIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
         CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
         CriteriaQuery<Challenge> criteriaQuery = criteriaBuilder.createQuery(Challenge.class);
 
         Root<Challenge> challengeRoot = criteriaQuery.from(Challenge.class);
-        
+
         criteriaQuery.select(challengeRoot);
-        
-        if (orderBy == OrderBy.LATEST) {
-            criteriaQuery.orderBy(criteriaBuilder.desc(
-                challengeRoot.get("createdAt")
-            ));
+        criteriaQuery.where(challengeRoot.get("id").in(challengeIds));
+
+        List<Challenge> challenges = entityManager.createQuery(criteriaQuery)
+                .setHint(FetchPlan.FETCH_GRAPH_HINT, entityManager.getEntityGraph(fetchPlan.graphOf(Challenge.class)))
+                .getResultList();
+
+        Map<UUID, Challenge> challengesById = new HashMap<>();
+        for (Challenge challenge : challenges) {
+            challengesById.putIfAbsent(challenge.getId(), challenge);
         }
-        
+
+        // Keyed on id so the entities are never hashed, and re-read in the order the ids page was sorted
+        return challengeIds.stream()
+                .map(challengesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /*
+     * Selects only the ids of the requested page, so LIMIT (and OFFSET when no cursor is given)
+     * run in SQL instead of in memory over the collection fetch-joins of the hydrating query.
+     */
+    private List<UUID> findChallengeIdsPage(
+        Integer page, Integer size, UUID categoryId, OrderBy orderBy, ChallengeCursor cursor
+    ) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> criteriaQuery = criteriaBuilder.createQuery(UUID.class);
+
+        Root<Challenge> challengeRoot = criteriaQuery.from(Challenge.class);
+        Path<UUID> id = challengeRoot.get("id");
+        Path<LocalDateTime> createdAt = challengeRoot.get("createdAt");
+
+        criteriaQuery.select(id);
+
         List<Predicate> predicates = new ArrayList<>();
-        
+
         if (categoryId != null) {
             predicates.add(criteriaBuilder.equal(
-                challengeRoot.get("category").get("id"), 
+                challengeRoot.get("category").get("id"),
                 categoryId));
         }
 
         predicates.add(criteriaBuilder.equal(challengeRoot.get("active"), GlobalConstants.ACTIVE));
-        
+
+        if (orderBy == OrderBy.LATEST) {
+            if (cursor != null) {
+                predicates.add(criteriaBuilder.or(
+                    criteriaBuilder.lessThan(createdAt, cursor.getCreatedAt()),
+                    criteriaBuilder.and(
+                        criteriaBuilder.equal(createdAt, cursor.getCreatedAt()),
+                        criteriaBuilder.lessThan(id, cursor.getId())
+                    )
+                ));
+            }
+            criteriaQuery.orderBy(criteriaBuilder.desc(createdAt), criteriaBuilder.desc(id));
+        } else if (orderBy == OrderBy.DESC) {
+            if (cursor != null) {
+                predicates.add(criteriaBuilder.lessThan(id, cursor.getId()));
+            }
+            criteriaQuery.orderBy(criteriaBuilder.desc(id));
+        } else {
+            if (cursor != null) {
+                predicates.add(criteriaBuilder.greaterThan(id, cursor.getId()));
+            }
+            criteriaQuery.orderBy(criteriaBuilder.asc(id));
+        }
+
         criteriaQuery.where(criteriaBuilder.and(predicates.toArray(new Predicate[0])));
 
-        challengeRoot.fetch("author", JoinType.LEFT)
-            .fetch("labels", JoinType.LEFT);
-        challengeRoot.fetch("author", JoinType.LEFT)
-            .fetch("roles", JoinType.LEFT);
-        challengeRoot.fetch("technologies", JoinType.LEFT);
-        challengeRoot.fetch("category", JoinType.LEFT);
+        TypedQuery<UUID> query = entityManager.createQuery(criteriaQuery)
+                .setMaxResults(size);
 
-        int firstResult = page * size;
+        if (cursor == null) {
+            query.setFirstResult(page * size);
+        }
 
-        return new HashSet<>(entityManager.createQuery(criteriaQuery)
-                .setFirstResult(firstResult)
-                .setMaxResults(size)
-                .getResultList());
+        return query.getResultList();
     }
 
     @Override
     public boolean joinChallenge(UUID challengeId, UUID participantId) throws JoinNotAcceptedException {
-        String sql = "INSERT INTO tb_participant (challenge_id, participant_id) values (?, ?)";
+        // The participant row and the counter change together, and a repeated join changes neither
+        String sql = "WITH inserted AS (" +
+                "INSERT INTO tb_participant (challenge_id, participant_id) values (?, ?) " +
+                "ON CONFLICT (challenge_id, participant_id) DO NOTHING RETURNING challenge_id" +
+                ") " +
+                "UPDATE tb_challenge SET participants_count = participants_count + (SELECT count(*) FROM inserted) " +
+                "WHERE id = ? AND EXISTS (SELECT 1 FROM inserted)";
         try (Connection connection = dataSource.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
           
             statement.setObject(1, challengeId);
             statement.setObject(2, participantId);
+            statement.setObject(3, challengeId);
 
             int rowsInserted = statement.executeUpdate();
             return rowsInserted > 0;
@@ -178,12 +240,17 @@ public class ChallengeRepositoryImpl implements ChallengeRepository {
     @Override
     public boolean unjoinChallenge(UUID challengeId, UUID participantId) throws UnjoinNotAcceptedException {
 
-        String sql = "DELETE FROM tb_participant WHERE challenge_id = ? AND participant_id = ?";
+        String sql = "WITH deleted AS (" +
+                "DELETE FROM tb_participant WHERE challenge_id = ? AND participant_id = ? RETURNING challenge_id" +
+                ") " +
+                "UPDATE tb_challenge SET participants_count = participants_count - (SELECT count(*) FROM deleted) " +
+                "WHERE id = ? AND EXISTS (SELECT 1 FROM deleted)";
         try (Connection connection = dataSource.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
 
             statement.setObject(1, challengeId);
             statement.setObject(2, participantId);
+            statement.setObject(3, challengeId);
 
             int rowsInserted = statement.executeUpdate();
             return rowsInserted > 0;
@@ -193,4 +260,70 @@ public class ChallengeRepositoryImpl implements ChallengeRepository {
         }
     }
 
+    /*
+     * The join table has its own id, so its rows are written through ChallengeTechnology and
+     * not through the Challenge.technologies collection.
+     */
+    @Override
+    public void addTechnologiesInChallenge(Challenge challenge, Collection<Technology> technologies) {
+        for (Technology technology : technologies) {
+            ChallengeTechnology challengeTechnology = new ChallengeTechnology();
+            challengeTechnology.setChallenge(challenge);
+            challengeTechnology.setTechnology(technology);
+            entityManager.persist(challengeTechnology);
+        }
+    }
+
+    /*
+     * Inserts the challenges, with their ids already assigned, and their technology rows in one
+     * local transaction. Plain INSERT ... VALUES batches are rewritten by the driver into
+     * multi-row statements (reWriteBatchedInserts), so a chunk costs a handful of round trips.
+     */
+    @Override
+    public void insertChallengesInBatch(List<Challenge> challenges) throws SQLException {
+        String challengeSql = "INSERT INTO tb_challenge " +
+                "(id, title, description, author_id, active, status, image_url, category_id, created_at, end_date) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        String technologySql = "INSERT INTO tb_challenge_technology (id, challenge_id, technology_id) VALUES (?, ?, ?)";
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement challengeStatement = connection.prepareStatement(challengeSql);
+                 PreparedStatement technologyStatement = connection.prepareStatement(technologySql)) {
+
+                for (Challenge challenge : challenges) {
+                    challengeStatement.setObject(1, challenge.getId());
+                    challengeStatement.setString(2, challenge.getTitle());
+                    challengeStatement.setString(3, challenge.getDescription());
+                    challengeStatement.setObject(4, challenge.getAuthor().getId());
+                    challengeStatement.setBoolean(5, challenge.isActive());
+                    challengeStatement.setString(6, challenge.getStatus().name());
+                    challengeStatement.setString(7, challenge.getImageUrl());
+                    challengeStatement.setObject(8, challenge.getCategory() != null ? challenge.getCategory().getId() : null);
+                    challengeStatement.setObject(9, challenge.getCreatedAt());
+                    challengeStatement.setObject(10, challenge.getEndDate());
+                    challengeStatement.addBatch();
+
+                    for (Technology technology : challenge.getTechnologies()) {
+                        technologyStatement.setObject(1, UUID.randomUUID());
+                        technologyStatement.setObject(2, challenge.getId());
+                        technologyStatement.setObject(3, technology.getId());
+                        technologyStatement.addBatch();
+                    }
+                }
+
+                challengeStatement.executeBatch();
+                technologyStatement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
 }
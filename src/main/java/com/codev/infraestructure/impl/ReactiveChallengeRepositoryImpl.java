@@ -0,0 +1,206 @@
+package com.codev.infraestructure.impl;
+
+import com.codev.domain.dto.view.CategoryDTOView;
+import com.codev.domain.dto.view.ChallengeDTOView;
+import com.codev.domain.dto.view.TechnologyDTOView;
+import com.codev.domain.dto.view.UserDTOView;
+import com.codev.domain.enums.ChallengeStatus;
+import com.codev.domain.enums.OrderBy;
+import com.codev.domain.model.Label;
+import com.codev.domain.model.Role;
+import com.codev.domain.repository.ReactiveChallengeRepository;
+import com.codev.utils.GlobalConstants;
+import com.codev.utils.helpers.ChallengeCursor;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+
+/**
+ * Reads the challenge catalog with the non-blocking Postgres client, straight into the same views
+ * the Hibernate path builds. A page costs four statements whatever its size: the challenges with
+ * their author and category, then the technologies, author labels and author roles of the whole
+ * page, the last three running concurrently.
+ */
+@ApplicationScoped
+@RequiredArgsConstructor
+@IfBuildProperty(name = "codev.challenges.reactive-read.enabled", stringValue = "true")
+public class ReactiveChallengeRepositoryImpl implements ReactiveChallengeRepository {
+
+    private static final String CHALLENGE_SQL = "SELECT c.id, c.title, c.description, c.created_at, c.end_date, c.status, " +
+            "c.participants_count, c.solutions_count, c.version, " +
+            "u.id AS author_id, u.name AS author_name, u.email AS author_email, u.github_url AS author_github_url, " +
+            "u.additional_url AS author_additional_url, u.created_at AS author_created_at, u.updated_at AS author_updated_at, " +
+            "cat.id AS category_id, cat.name AS category_name " +
+            "FROM tb_challenge c " +
+            "JOIN tb_user u ON u.id = c.author_id " +
+            "LEFT JOIN tb_category cat ON cat.id = c.category_id ";
+
+    private static final String TECHNOLOGIES_SQL = "SELECT ct.challenge_id, t.id, t.name, t.documentation_link, t.color " +
+            "FROM tb_challenge_technology ct JOIN tb_technology t ON t.id = ct.technology_id " +
+            "WHERE ct.challenge_id = ANY($1)";
+
+    private static final String LABELS_SQL = "SELECT ul.user_id, l.id, l.title, l.description " +
+            "FROM tb_user_label ul JOIN tb_label l ON l.id = ul.label_id " +
+            "WHERE ul.user_id = ANY($1)";
+
+    private static final String ROLES_SQL = "SELECT ur.user_id, r.id, r.name " +
+            "FROM tb_user_role ur JOIN tb_role r ON r.id = ur.role_id " +
+            "WHERE ur.user_id = ANY($1)";
+
+    private final PgPool client;
+
+    @Override
+    public Uni<List<ChallengeDTOView>> findAllChallengesWithPaging(
+        Integer page, Integer size, UUID categoryId, OrderBy orderBy, ChallengeCursor cursor
+    ) {
+        if (page < 0) {
+            return Uni.createFrom().failure(new IllegalArgumentException("Page must be a positive integer."));
+        }
+
+        // Same filters, keyset and ordering as ChallengeRepositoryImpl.findChallengeIdsPage
+        StringBuilder sql = new StringBuilder(CHALLENGE_SQL).append("WHERE c.active = $1");
+        List<Object> params = new ArrayList<>();
+        params.add(GlobalConstants.ACTIVE);
+
+        if (categoryId != null) {
+            params.add(categoryId);
+            sql.append(" AND c.category_id = $").append(params.size());
+        }
+
+        if (orderBy == OrderBy.LATEST) {
+            if (cursor != null) {
+                params.add(cursor.getCreatedAt());
+                params.add(cursor.getId());
+                sql.append(" AND (c.created_at, c.id) < ($").append(params.size() - 1).append(", $").append(params.size()).append(")");
+            }
+            sql.append(" ORDER BY c.created_at DESC, c.id DESC");
+        } else if (orderBy == OrderBy.DESC) {
+            if (cursor != null) {
+                params.add(cursor.getId());
+                sql.append(" AND c.id < $").append(params.size());
+            }
+            sql.append(" ORDER BY c.id DESC");
+        } else {
+            if (cursor != null) {
+                params.add(cursor.getId());
+                sql.append(" AND c.id > $").append(params.size());
+            }
+            sql.append(" ORDER BY c.id ASC");
+        }
+
+        params.add((long) size);
+        sql.append(" LIMIT $").append(params.size());
+
+        if (cursor == null) {
+            params.add((long) page * size);
+            sql.append(" OFFSET $").append(params.size());
+        }
+
+        return client.preparedQuery(sql.toString())
+                .execute(Tuple.from(params))
+                .onItem().transformToUni(rows -> hydrate(toChallenges(rows)));
+    }
+
+    @Override
+    public Uni<ChallengeDTOView> findById(UUID challengeId) {
+        return client.preparedQuery(CHALLENGE_SQL + "WHERE c.id = $1")
+                .execute(Tuple.of(challengeId))
+                .onItem().transformToUni(rows -> hydrate(toChallenges(rows)))
+                .onItem().transform(challenges -> challenges.isEmpty() ? null : challenges.get(0));
+    }
+
+    private static List<ChallengeDTOView> toChallenges(RowSet<Row> rows) {
+        List<ChallengeDTOView> challenges = new ArrayList<>(rows.size());
+
+        for (Row row : rows) {
+            ChallengeDTOView challenge = new ChallengeDTOView();
+            challenge.setId(row.getUUID("id"));
+            challenge.setTitle(row.getString("title"));
+            challenge.setDescription(row.getString("description"));
+            challenge.setCreatedAt(row.getLocalDateTime("created_at"));
+            challenge.setEndDate(row.getLocalDateTime("end_date"));
+            challenge.setStatus(ChallengeStatus.valueOf(row.getString("status")));
+            challenge.setParticipantsCount(row.getLong("participants_count"));
+            challenge.setSolutionsCount(row.getLong("solutions_count"));
+            challenge.setVersion(row.getLong("version"));
+
+            UserDTOView author = new UserDTOView();
+            author.setId(row.getUUID("author_id"));
+            author.setName(row.getString("author_name"));
+            author.setEmail(row.getString("author_email"));
+            author.setGithubUrl(row.getString("author_github_url"));
+            author.setAdditionalUrl(row.getString("author_additional_url"));
+            author.setCreatedAt(row.getLocalDateTime("author_created_at"));
+            author.setUpdatedAt(row.getLocalDateTime("author_updated_at"));
+            author.setLabels(new HashSet<>());
+            author.setRoles(new HashSet<>());
+            challenge.setAuthor(author);
+
+            UUID categoryId = row.getUUID("category_id");
+            if (categoryId != null)
+                challenge.setCategory(new CategoryDTOView(categoryId, row.getString("category_name")));
+
+            challenge.setTechnologies(new HashSet<>());
+            challenges.add(challenge);
+        }
+        return challenges;
+    }
+
+    /*
+     * Fills the technologies of each challenge and the labels and roles of each author, with one
+     * statement per collection for the whole page.
+     */
+    private Uni<List<ChallengeDTOView>> hydrate(List<ChallengeDTOView> challenges) {
+        if (challenges.isEmpty())
+            return Uni.createFrom().item(challenges);
+
+        Map<UUID, ChallengeDTOView> challengesById = new HashMap<>();
+        Map<UUID, List<UserDTOView>> authorsById = new HashMap<>();
+        for (ChallengeDTOView challenge : challenges) {
+            challengesById.put(challenge.getId(), challenge);
+            authorsById.computeIfAbsent(challenge.getAuthor().getId(), id -> new ArrayList<>()).add(challenge.getAuthor());
+        }
+
+        Tuple challengeIds = Tuple.of(challengesById.keySet().toArray(new UUID[0]));
+        Tuple authorIds = Tuple.of(authorsById.keySet().toArray(new UUID[0]));
+
+        return Uni.combine().all().unis(
+                client.preparedQuery(TECHNOLOGIES_SQL).execute(challengeIds),
+                client.preparedQuery(LABELS_SQL).execute(authorIds),
+                client.preparedQuery(ROLES_SQL).execute(authorIds)
+        ).asTuple().onItem().transform(results -> {
+            for (Row row : results.getItem1()) {
+                challengesById.get(row.getUUID("challenge_id")).getTechnologies().add(new TechnologyDTOView(
+                        row.getUUID("id"),
+                        row.getString("name"),
+                        row.getString("documentation_link"),
+                        row.getString("color")
+                ));
+            }
+
+            for (Row row : results.getItem2()) {
+                Label label = new Label();
+                label.setId(row.getUUID("id"));
+                label.setTitle(row.getString("title"));
+                label.setDescription(row.getString("description"));
+                authorsById.get(row.getUUID("user_id")).forEach(author -> author.getLabels().add(label));
+            }
+
+            for (Row row : results.getItem3()) {
+                Role role = new Role(row.getString("name"));
+                role.setId(row.getUUID("id"));
+                authorsById.get(row.getUUID("user_id")).forEach(author -> author.getRoles().add(role));
+            }
+
+            return challenges;
+        });
+    }
+
+}
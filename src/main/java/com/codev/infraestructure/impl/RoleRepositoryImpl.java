@@ -1,6 +1,7 @@
 package com.codev.infraestructure.impl;
 
 import com.codev.domain.repository.RoleRepository;
+import com.codev.infraestructure.cache.SecondLevelCacheEvictor;
 import com.codev.utils.GlobalConstants;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -18,6 +19,8 @@ public class RoleRepositoryImpl implements RoleRepository {
 
     private final DataSource dataSource;
 
+    private final SecondLevelCacheEvictor cacheEvictor;
+
     @Override
     public void addAdminRoleInUser(UUID userId) {
         try (Connection connection = dataSource.getConnection()) {
@@ -31,6 +34,8 @@ public class RoleRepositoryImpl implements RoleRepository {
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
+
+        cacheEvictor.evictUserRoles(userId);
     }
 
 }
@@ -1,7 +1,9 @@
 package com.codev.infraestructure.impl;
 
+import com.codev.domain.dto.form.LikeDTOForm;
 import com.codev.domain.dto.view.LikeDTOView;
 import com.codev.domain.dto.view.SolutionDTOView;
+import com.codev.domain.dto.view.SolutionLikesDTOView;
 import com.codev.domain.dto.view.UserDTOView;
 import com.codev.domain.exceptions.solutions.LikeNotAcceptedException;
 import com.codev.domain.exceptions.solutions.SolutionNotDeletedException;
@@ -17,13 +19,28 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @ApplicationScoped
 @RequiredArgsConstructor
 public class SolutionRepositoryImpl implements SolutionRepository {
 
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    // The snapshot of tb_solution does not see the CTE's update, so the new count comes from "updated" when present
+    private static final String LIKE_RESULT_SELECT = "SELECT " +
+            "EXISTS (SELECT 1 FROM updated) as changed, " +
+            "COALESCE(" +
+            "    (SELECT likes_count FROM updated), " +
+            "    (SELECT likes_count FROM tb_solution WHERE id = ?)" +
+            ") as likes, " +
+            "(SELECT likes_version FROM updated) as likes_version";
+
     private final DataSource dataSource;
 
     @Override
@@ -51,26 +68,22 @@ public class SolutionRepositoryImpl implements SolutionRepository {
                     "a1_0.updated_at, " +
                     "s1_0.repository_url, " +
                     "s1_0.deploy_url, " +
-                    "COALESCE(l1_0.likes_count, 0) as likes, " +
-                    "l1_0.liked, " +
+                    "s1_0.likes_count as likes, " +
+                    "EXISTS (" +
+                    "    SELECT 1 " +
+                    "    FROM tb_like l1_0 " +
+                    "    WHERE l1_0.solution_id = s1_0.id AND l1_0.participant_id = ? " +
+                    ") as liked, " +
                     "s1_0.id " +
-                    "FROM tb_solution s1_0 " +
+                    "FROM (" +
+                    "    SELECT * " +
+                    "    FROM tb_solution " +
+                    "    WHERE challenge_id = ? " +
+                    "    ORDER BY id " +
+                    "    OFFSET ? ROWS FETCH FIRST ? ROWS ONLY" +
+                    ") s1_0 " +
                     "LEFT JOIN tb_user a1_0 ON a1_0.id = s1_0.author_id " +
-                    "LEFT JOIN (" +
-                    "    SELECT " +
-                    "        p1_0.solution_id, " +
-                    "        COUNT(DISTINCT p1_0.participant_id) as likes_count, " +
-                    "        EXISTS (" +
-                    "            SELECT 1 " +
-                    "            FROM tb_like p2_0 " +
-                    "            WHERE p2_0.solution_id = p1_0.solution_id AND p2_0.participant_id = ? " +
-                    "        ) as liked " +
-                    "    FROM tb_like p1_0 " +
-                    "    GROUP BY p1_0.solution_id " +
-                    ") l1_0 ON l1_0.solution_id = s1_0.id " +
-                    "WHERE s1_0.challenge_id = ? " +
-                    "ORDER BY s1_0.id " +
-                    "OFFSET ? ROWS FETCH FIRST ? ROWS ONLY";
+                    "ORDER BY s1_0.id";
 
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setObject(1, userId);
@@ -116,92 +129,180 @@ public class SolutionRepositoryImpl implements SolutionRepository {
 
     @Override
     public LikeDTOView addLike(UUID solutionId, UUID userId) throws LikeNotAcceptedException {
-        boolean isLikedInSolution = isLikedInSolution(solutionId, userId);
-
-        if (!isLikedInSolution)
-            return addLikeInSolution(solutionId, userId);
-        else
-            throw new LikeNotAcceptedException();
+        String sql = "WITH inserted AS (" +
+                "    INSERT INTO tb_like (participant_id, solution_id) VALUES (?, ?) " +
+                "    ON CONFLICT DO NOTHING " +
+                "    RETURNING solution_id" +
+                "), updated AS (" +
+                "    UPDATE tb_solution s1_0 SET likes_count = s1_0.likes_count + 1, likes_version = s1_0.likes_version + 1 " +
+                "    FROM inserted i1_0 WHERE s1_0.id = i1_0.solution_id " +
+                "    RETURNING s1_0.likes_count, s1_0.likes_version" +
+                ") " +
+                LIKE_RESULT_SELECT;
+
+        return toggleLike(sql, solutionId, userId, true);
     }
 
     @Override
     public LikeDTOView removeLike(UUID solutionId, UUID userId) throws LikeNotAcceptedException {
-        boolean isLikedInSolution = isLikedInSolution(solutionId, userId);
-
-        if (isLikedInSolution)
-            return removeLikeBySolutionIdAndparticipantId(solutionId, userId);
-        else
-            throw new LikeNotAcceptedException();
+        String sql = "WITH deleted AS (" +
+                "    DELETE FROM tb_like WHERE participant_id = ? AND solution_id = ? " +
+                "    RETURNING solution_id" +
+                "), updated AS (" +
+                "    UPDATE tb_solution s1_0 SET likes_count = GREATEST(s1_0.likes_count - 1, 0), likes_version = s1_0.likes_version + 1 " +
+                "    FROM deleted d1_0 WHERE s1_0.id = d1_0.solution_id " +
+                "    RETURNING s1_0.likes_count, s1_0.likes_version" +
+                ") " +
+                LIKE_RESULT_SELECT;
+
+        return toggleLike(sql, solutionId, userId, false);
     }
 
-    private LikeDTOView addLikeInSolution(UUID solutionId, UUID userId) {
-        try (Connection connection = dataSource.getConnection()) {
-            String sql = "INSERT INTO tb_like (participant_id, solution_id) VALUES (?, ?)";
-
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setObject(1, userId);
-                statement.setObject(2, solutionId);
-                statement.executeUpdate();
-
-                return new LikeDTOView(true);
+    /*
+     * Like and unlike are a single statement each: the unique (solution_id, participant_id) constraint
+     * makes them idempotent, and the counter is only touched when tb_like actually changed.
+     * The tb_like change and the likes_count update are atomic because they are the same statement,
+     * not because of the caller: the connection is a separate one from the pool, not the Hibernate
+     * session's, and it only joins the caller's JTA transaction when one is active.
+     */
+    private LikeDTOView toggleLike(String sql, UUID solutionId, UUID userId, boolean liked) throws LikeNotAcceptedException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setObject(1, userId);
+            statement.setObject(2, solutionId);
+            statement.setObject(3, solutionId);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next() || resultSet.getObject("likes") == null)
+                    throw new LikeNotAcceptedException("Like not accepted: The solution does not exist.");
+
+                return new LikeDTOView(
+                        liked,
+                        resultSet.getBoolean("changed"),
+                        resultSet.getLong("likes"),
+                        resultSet.getObject("likes_version", Long.class)
+                );
             }
         } catch (SQLException e) {
+            if (FOREIGN_KEY_VIOLATION.equals(e.getSQLState()))
+                throw new LikeNotAcceptedException("Like not accepted: The solution does not exist.", e);
+
             throw new RuntimeException(e);
         }
     }
 
-    private LikeDTOView removeLikeBySolutionIdAndparticipantId(UUID solutionId, UUID participantId) {
+    /*
+     * The batch cannot return the counts it leaves, so they are read back in the same transaction,
+     * for the solutions it changed: their rows are still locked by it, so the counts and versions
+     * read are the ones it commits.
+     */
+    @Override
+    public List<SolutionLikesDTOView> saveLikesInBatch(List<LikeDTOForm> likes) {
+        String likeSql = "WITH inserted AS (" +
+                "    INSERT INTO tb_like (participant_id, solution_id) VALUES (?, ?) " +
+                "    ON CONFLICT DO NOTHING " +
+                "    RETURNING solution_id" +
+                ") " +
+                "UPDATE tb_solution s1_0 SET likes_count = s1_0.likes_count + 1, likes_version = s1_0.likes_version + 1 " +
+                "FROM inserted i1_0 WHERE s1_0.id = i1_0.solution_id";
+
+        String unlikeSql = "WITH deleted AS (" +
+                "    DELETE FROM tb_like WHERE participant_id = ? AND solution_id = ? " +
+                "    RETURNING solution_id" +
+                ") " +
+                "UPDATE tb_solution s1_0 SET likes_count = GREATEST(s1_0.likes_count - 1, 0), likes_version = s1_0.likes_version + 1 " +
+                "FROM deleted d1_0 WHERE s1_0.id = d1_0.solution_id";
+
+        // Same lock order for every flush, so concurrent writers on tb_solution cannot deadlock
+        List<LikeDTOForm> sortedLikes = likes.stream()
+                .sorted(Comparator.comparing(LikeDTOForm::getSolutionId))
+                .toList();
+
         try (Connection connection = dataSource.getConnection()) {
-            String sql = "DELETE FROM tb_like WHERE participant_id = ? AND solution_id = ?";
+            connection.setAutoCommit(false);
 
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setObject(1, participantId);
-                statement.setObject(2, solutionId);
-                statement.executeUpdate();
+            try (PreparedStatement likeStatement = connection.prepareStatement(likeSql);
+                 PreparedStatement unlikeStatement = connection.prepareStatement(unlikeSql)) {
 
-                return new LikeDTOView(false);
+                List<UUID> likedSolutions = new ArrayList<>();
+                List<UUID> unlikedSolutions = new ArrayList<>();
+
+                for (LikeDTOForm like : sortedLikes) {
+                    PreparedStatement statement = like.isLiked() ? likeStatement : unlikeStatement;
+                    statement.setObject(1, like.getUserId());
+                    statement.setObject(2, like.getSolutionId());
+                    statement.addBatch();
+                    (like.isLiked() ? likedSolutions : unlikedSolutions).add(like.getSolutionId());
+                }
+
+                // One update count per like, 0 when tb_like already was in that state
+                Set<UUID> changedSolutions = new LinkedHashSet<>();
+                collectChanged(likeStatement.executeBatch(), likedSolutions, changedSolutions);
+                collectChanged(unlikeStatement.executeBatch(), unlikedSolutions, changedSolutions);
+
+                List<SolutionLikesDTOView> counts = findLikes(connection, changedSolutions);
+                connection.commit();
+                return counts;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private boolean isLikedInSolution(UUID solutionId, UUID participantId) {
-        try (Connection connection = dataSource.getConnection()) {
-            String sql = "SELECT COUNT(*) AS count" +
-                    " FROM tb_like" +
-                    " WHERE participant_id = ? AND solution_id = ?";
+    private static void collectChanged(int[] updateCounts, List<UUID> solutionIds, Set<UUID> changed) {
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] != 0)
+                changed.add(solutionIds.get(i));
+        }
+    }
 
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setObject(1, participantId);
-                statement.setObject(2, solutionId);
+    private static List<SolutionLikesDTOView> findLikes(Connection connection, Collection<UUID> solutionIds) throws SQLException {
+        if (solutionIds.isEmpty())
+            return List.of();
 
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    if (resultSet.next()) {
-                        int count = resultSet.getInt("count");
-                        return count > 0;
-                    }
-                    throw new RuntimeException("result.next() == false. There are no more rows");
+        String sql = "SELECT id, likes_count, likes_version FROM tb_solution WHERE id = ANY (?)";
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setArray(1, connection.createArrayOf("uuid", solutionIds.toArray()));
+
+            List<SolutionLikesDTOView> counts = new ArrayList<>(solutionIds.size());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    counts.add(new SolutionLikesDTOView(
+                            resultSet.getObject("id", UUID.class),
+                            resultSet.getLong("likes_count"),
+                            resultSet.getLong("likes_version")
+                    ));
                 }
             }
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+            return counts;
         }
-
     }
 
     @Override
     public boolean deleteSolution(UUID solutionId, UUID authorId) throws SolutionNotDeletedException {
         try (Connection connection = dataSource.getConnection()) {
-            String sql = "DELETE FROM tb_solution WHERE author_id = ? AND id = ?";
+            // The likes go only with a solution the author check let through. The foreign key of
+            // tb_like is checked at the end of the statement, after both deletes
+            String sql = "WITH deleted AS (" +
+                    "    DELETE FROM tb_solution WHERE author_id = ? AND id = ? RETURNING id, challenge_id" +
+                    "), deleted_likes AS (" +
+                    "    DELETE FROM tb_like USING deleted WHERE tb_like.solution_id = deleted.id" +
+                    ") " +
+                    "UPDATE tb_challenge SET solutions_count = solutions_count - 1 " +
+                    "FROM deleted WHERE tb_challenge.id = deleted.challenge_id";
 
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setObject(1, authorId);
                 statement.setObject(2, solutionId);
-                statement.executeUpdate();
 
-                return true;
+                return statement.executeUpdate() > 0;
             }
 
         } catch (SQLException e) {
@@ -209,16 +310,17 @@ public class SolutionRepositoryImpl implements SolutionRepository {
         }
     }
 
-    public void removeLikeBySolutionId(UUID solutionId) throws SolutionNotDeletedException {
+    @Override
+    public void incrementSolutionsCount(UUID challengeId) {
         try (Connection connection = dataSource.getConnection()) {
-            String sql = "DELETE FROM tb_like WHERE solution_id = ?";
+            String sql = "UPDATE tb_challenge SET solutions_count = solutions_count + 1 WHERE id = ?";
 
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setObject(1, solutionId);
+                statement.setObject(1, challengeId);
                 statement.executeUpdate();
             }
         } catch (SQLException e) {
-            throw new SolutionNotDeletedException(e.getMessage());
+            throw new RuntimeException(e);
         }
     }
 
@@ -1,5 +1,6 @@
 package com.codev.infraestructure.impl;
 
+import com.codev.domain.model.Challenge;
 import com.codev.domain.model.Technology;
 import com.codev.domain.repository.TechnologyRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -8,6 +9,7 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NativeQuery;
 
 import java.util.List;
 import java.util.UUID;
@@ -41,11 +43,15 @@ public class TechnologyRepositoryImpl implements TechnologyRepository {
         String deleteChallengeTechnologyQuery = "DELETE FROM tb_challenge_technology WHERE technology_id = :technologyId";
         entityManager.createNativeQuery(deleteChallengeTechnologyQuery)
                 .setParameter("technologyId", technologyId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Challenge.class)
                 .executeUpdate();
 
         String deleteTechnologyQuery = "DELETE FROM tb_technology WHERE id = :technologyId";
         entityManager.createNativeQuery(deleteTechnologyQuery)
                 .setParameter("technologyId", technologyId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Technology.class)
                 .executeUpdate();
 
     }
@@ -1,8 +1,11 @@
 package com.codev.infraestructure.impl;
 
 import com.codev.domain.dto.form.UserFiltersDTOForm;
+import com.codev.domain.dto.view.UserExportDTOView;
+import com.codev.domain.enums.SearchMode;
 import com.codev.domain.model.User;
 import com.codev.domain.repository.UserRepository;
+import com.codev.infraestructure.schema.UserSearchIndex;
 import com.codev.utils.GlobalConstants;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
@@ -10,84 +13,246 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaSubQuery;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
 
 @ApplicationScoped
+@RequiredArgsConstructor
 public class UserRepositoryImpl implements UserRepository {
 
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private static final char LIKE_ESCAPE = '\\';
+
     @PersistenceContext
     EntityManager entityManager;
 
+    private final DataSource dataSource;
+
+    private final UserSearchIndex userSearchIndex;
+
+    /*
+     * Without a search term this is a keyset page over ids. With one, it returns the best `size`
+     * matches ranked for the search mode; both LIKE shapes are served by the trigram index on
+     * lower(name). The ranking only sorts max-candidates matches, so a one-letter term does not
+     * sort the whole table: with pg_trgm they are the nearest ones by trigram distance, read in
+     * that order from the GiST index, and otherwise the first ones found. No collection is fetch-joined, so the limit is applied in SQL
+     * and the labels and roles of the page are loaded by the @BatchSize on User, one statement per
+     * collection.
+     */
     @Override
-    public List<User> findAllUsers(UserFiltersDTOForm filters) {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<User> criteriaQuery = criteriaBuilder.createQuery(User.class);
+    public List<User> findAllUsers(UserFiltersDTOForm filters, UUID cursor, Integer size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be a positive integer.");
+        }
+
+        if (filters.hasSearchTerm() && cursor != null) {
+            throw new IllegalArgumentException("Cursor is not supported while searching.");
+        }
+
+        HibernateCriteriaBuilder criteriaBuilder = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        JpaCriteriaQuery<User> criteriaQuery = criteriaBuilder.createQuery(User.class);
 
         Root<User> userRoot = criteriaQuery.from(User.class);
-        userRoot.fetch("roles", JoinType.LEFT);
-        userRoot.fetch("labels", JoinType.LEFT);
 
-        List<Predicate> predicates = new ArrayList<>();
+        criteriaQuery.select(userRoot);
+
+        Expression<String> name = criteriaBuilder.lower(userRoot.get("name"));
+
+        if (filters.hasSearchTerm()) {
+            JpaSubQuery<UUID> candidates = criteriaQuery.subquery(UUID.class);
+            Root<User> candidateRoot = candidates.from(User.class);
 
-        if (filters.getStartsWith() != null) {
-            String name = filters.getStartsWith().toLowerCase();
+            Expression<String> candidateName = criteriaBuilder.lower(candidateRoot.get("name"));
 
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(userRoot.get("name")), "%" + name + "%"));
-        } else
-            criteriaQuery.select(userRoot).distinct(true);
+            candidates.select(candidateRoot.get("id"))
+                    .where(
+                            criteriaBuilder.like(candidateName, namePattern(filters), LIKE_ESCAPE),
+                            criteriaBuilder.equal(candidateRoot.get("active"), GlobalConstants.ACTIVE)
+                    )
+                    .fetch(userSearchIndex.getMaxCandidates());
 
-        predicates.add(criteriaBuilder.equal(userRoot.get("active"), GlobalConstants.ACTIVE));
+            if (userSearchIndex.isTrigramAvailable()) {
+                // <-> is an operator, not a function, so it is written through sql(); the GiST index orders by it
+                Expression<Double> distance = criteriaBuilder.function(
+                        "sql", Double.class, new Expression<?>[] {
+                                criteriaBuilder.literal("(? <-> ?)"), candidateName, criteriaBuilder.literal(filters.getStartsWith().toLowerCase())
+                        }
+                );
+                candidates.orderBy(criteriaBuilder.asc(distance));
+            }
 
-        criteriaQuery.where(criteriaBuilder.and(predicates.toArray(new Predicate[0])));
+            criteriaQuery.where(userRoot.get("id").in(candidates));
+        } else {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(criteriaBuilder.equal(userRoot.get("active"), GlobalConstants.ACTIVE));
+
+            if (cursor != null) {
+                predicates.add(criteriaBuilder.greaterThan(userRoot.get("id"), cursor));
+            }
+
+            criteriaQuery.where(criteriaBuilder.and(predicates.toArray(new Predicate[0])));
+        }
 
-        criteriaQuery.orderBy(
-                criteriaBuilder.asc(userRoot.get("id"))
-        );
+        String term = filters.hasSearchTerm() ? filters.getStartsWith().toLowerCase() : null;
+
+        if (!filters.hasSearchTerm()) {
+            criteriaQuery.orderBy(
+                    criteriaBuilder.asc(userRoot.get("id"))
+            );
+        } else if (filters.getMode() == SearchMode.PREFIX) {
+            // The shortest names are the closest completions of the prefix
+            criteriaQuery.orderBy(
+                    criteriaBuilder.asc(criteriaBuilder.length(name)),
+                    criteriaBuilder.asc(name),
+                    criteriaBuilder.asc(userRoot.get("id"))
+            );
+        } else if (userSearchIndex.isTrigramAvailable()) {
+            Expression<Double> similarity = criteriaBuilder.function(
+                    "similarity", Double.class, new Expression<?>[] {name, criteriaBuilder.literal(term)}
+            );
+            criteriaQuery.orderBy(
+                    criteriaBuilder.desc(similarity),
+                    criteriaBuilder.asc(name),
+                    criteriaBuilder.asc(userRoot.get("id"))
+            );
+        } else {
+            // Without pg_trgm: earlier matches first, then the shortest names around them
+            criteriaQuery.orderBy(
+                    criteriaBuilder.asc(criteriaBuilder.locate(name, term)),
+                    criteriaBuilder.asc(criteriaBuilder.length(name)),
+                    criteriaBuilder.asc(name),
+                    criteriaBuilder.asc(userRoot.get("id"))
+            );
+        }
 
         return entityManager.createQuery(criteriaQuery)
+                .setMaxResults(size)
                 .getResultList();
     }
 
+    /*
+     * Streams every matching user to the consumer from a forward-only cursor. PostgreSQL only honours
+     * the fetch size inside a transaction, so auto-commit is turned off for the duration of the export.
+     */
     @Override
-    public User findByUsername(String email) {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<User> criteriaQuery = criteriaBuilder.createQuery(User.class);
+    public void exportUsers(UserFiltersDTOForm filters, Consumer<UserExportDTOView> consumer) throws SQLException {
+        boolean filterByName = filters.hasSearchTerm();
 
-        Root<User> userRoot = criteriaQuery.from(User.class);
-        userRoot.fetch("roles", JoinType.LEFT);
-        userRoot.fetch("labels", JoinType.LEFT);
+        String sql = "SELECT u.id, u.name, u.email, u.github_url, u.additional_url, u.created_at, u.updated_at, " +
+                "ARRAY(SELECT r.name FROM tb_user_role ur JOIN tb_role r ON r.id = ur.role_id WHERE ur.user_id = u.id) as roles, " +
+                "ARRAY(SELECT l.title FROM tb_user_label ul JOIN tb_label l ON l.id = ul.label_id WHERE ul.user_id = u.id) as labels " +
+                "FROM tb_user u " +
+                "WHERE u.active = ? " +
+                (filterByName ? "AND lower(u.name) LIKE ? ESCAPE '\\' " : "") +
+                "ORDER BY u.id";
 
-        criteriaQuery.where(
-                criteriaBuilder.equal(userRoot.get("email"), email),
-                criteriaBuilder.equal(userRoot.get("active"), GlobalConstants.ACTIVE)
-        );
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
 
-        return entityManager.createQuery(criteriaQuery)
-                .getSingleResult();
+            try (PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                statement.setBoolean(1, GlobalConstants.ACTIVE);
+                if (filterByName) {
+                    statement.setString(2, namePattern(filters));
+                }
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        consumer.accept(new UserExportDTOView(
+                                resultSet.getObject("id", UUID.class),
+                                resultSet.getString("name"),
+                                resultSet.getString("email"),
+                                resultSet.getString("github_url"),
+                                resultSet.getString("additional_url"),
+                                resultSet.getObject("created_at", LocalDateTime.class),
+                                resultSet.getObject("updated_at", LocalDateTime.class),
+                                toList(resultSet.getArray("roles")),
+                                toList(resultSet.getArray("labels"))
+                        ));
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        }
     }
 
-    @Override
-    public User findById(UUID userId) {
+    private String namePattern(UserFiltersDTOForm filters) {
+        String term = filters.getStartsWith().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+
+        return filters.getMode() == SearchMode.PREFIX ? term + "%" : "%" + term + "%";
+    }
+
+    private List<String> toList(Array array) throws SQLException {
+        if (array == null) {
+            return new ArrayList<>();
+        }
+
         try {
-            CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-            CriteriaQuery<User> criteriaQuery = criteriaBuilder.createQuery(User.class);
+            return Arrays.asList((String[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
 
-            Root<User> userRoot = criteriaQuery.from(User.class);
-            userRoot.fetch("roles", JoinType.LEFT);
-            userRoot.fetch("labels", JoinType.LEFT);
+    /*
+     * Resolved through the natural id cache, then the entity and collection caches, so a warm
+     * login or token check does not touch tb_user, tb_user_role or tb_user_label.
+     */
+    @Override
+    public User findByUsername(String email) {
+        User user = entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .load(email);
 
-            criteriaQuery.where(
-                criteriaBuilder.equal(userRoot.get("id"), userId)
-            );
+        if (user == null || !user.isActive())
+            throw new NoResultException("User not found");
 
-            return entityManager.createQuery(criteriaQuery)
-                .getSingleResult();
-        } catch (NoResultException e) {
+        return user;
+    }
+
+    @Override
+    public User findById(UUID userId) {
+        User user = entityManager.find(User.class, userId);
+
+        if (user == null)
             throw new EntityNotFoundException("User not found");
+
+        return user;
+    }
+
+    @Override
+    public Set<UUID> findActiveIds(Collection<UUID> userIds) throws SQLException {
+        String sql = "SELECT id FROM tb_user WHERE id = ANY(?) AND active = ?";
+
+        Set<UUID> activeIds = new HashSet<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setArray(1, connection.createArrayOf("uuid", userIds.toArray()));
+            statement.setBoolean(2, GlobalConstants.ACTIVE);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next())
+                    activeIds.add(resultSet.getObject("id", UUID.class));
+            }
         }
+        return activeIds;
     }
 
 }
@@ -0,0 +1,118 @@
+package com.codev.infraestructure.jdbc;
+
+import com.codev.domain.dto.view.HistogramSummaryDTOView;
+import com.codev.domain.dto.view.JdbcCallSiteMetricsDTOView;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * The four histograms of one call site. Recording goes to wait-free recorders; their intervals are
+ * only folded into the totals when a report is taken, so the JDBC path never takes a lock.
+ * Durations are kept in microseconds.
+ */
+public class CallSiteStats {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String callSite;
+
+    private final Metric checkoutWait = new Metric();
+
+    private final Metric hold = new Metric();
+
+    private final Metric statement = new Metric();
+
+    private final Metric rows = new Metric();
+
+    CallSiteStats(String callSite) {
+        this.callSite = callSite;
+    }
+
+    public String getCallSite() {
+        return callSite;
+    }
+
+    void recordCheckoutWait(long nanos) {
+        checkoutWait.recorder.recordValue(nanos / 1000);
+    }
+
+    void recordHold(long nanos) {
+        hold.recorder.recordValue(nanos / 1000);
+    }
+
+    void recordStatement(long nanos) {
+        statement.recorder.recordValue(nanos / 1000);
+    }
+
+    void recordRows(long count) {
+        rows.recorder.recordValue(count);
+    }
+
+    /**
+     * Everything recorded since startup.
+     */
+    synchronized JdbcCallSiteMetricsDTOView total() {
+        drain();
+        return toView(checkoutWait.total, hold.total, statement.total, rows.total);
+    }
+
+    /**
+     * Everything recorded since the previous call, which starts a new interval.
+     */
+    synchronized JdbcCallSiteMetricsDTOView interval() {
+        drain();
+        JdbcCallSiteMetricsDTOView view = toView(checkoutWait.interval, hold.interval, statement.interval, rows.interval);
+
+        checkoutWait.interval.reset();
+        hold.interval.reset();
+        statement.interval.reset();
+        rows.interval.reset();
+        return view;
+    }
+
+    private void drain() {
+        checkoutWait.drain();
+        hold.drain();
+        statement.drain();
+        rows.drain();
+    }
+
+    private JdbcCallSiteMetricsDTOView toView(Histogram checkoutWait, Histogram hold, Histogram statement, Histogram rows) {
+        return new JdbcCallSiteMetricsDTOView(
+                callSite,
+                summarize(checkoutWait),
+                summarize(hold),
+                summarize(statement),
+                summarize(rows)
+        );
+    }
+
+    private static HistogramSummaryDTOView summarize(Histogram histogram) {
+        return new HistogramSummaryDTOView(
+                histogram.getTotalCount(),
+                histogram.getMean(),
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99),
+                histogram.getMaxValue()
+        );
+    }
+
+    private static class Metric {
+
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+
+        private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+
+        private final Histogram interval = new Histogram(SIGNIFICANT_DIGITS);
+
+        private Histogram recycled;
+
+        void drain() {
+            recycled = recorder.getIntervalHistogram(recycled);
+            total.add(recycled);
+            interval.add(recycled);
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.codev.infraestructure.jdbc;
+
+import java.util.Optional;
+
+/**
+ * Names the application method behind the current JDBC call.
+ */
+final class CallSites {
+
+    private static final String APPLICATION_PACKAGE = "com.codev.";
+
+    private static final String OWN_PACKAGE = CallSites.class.getPackageName() + ".";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private CallSites() {}
+
+    /**
+     * "Class.method" of the closest application frame, skipping this package and the generated
+     * CDI subclasses and proxies.
+     */
+    static String current() {
+        Optional<StackWalker.StackFrame> frame = STACK_WALKER.walk(frames -> frames
+                .filter(candidate -> candidate.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !candidate.getClassName().startsWith(OWN_PACKAGE)
+                        && !candidate.getClassName().contains("_"))
+                .findFirst());
+
+        if (frame.isEmpty())
+            return "unknown";
+
+        String className = frame.get().getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.get().getMethodName();
+    }
+
+}
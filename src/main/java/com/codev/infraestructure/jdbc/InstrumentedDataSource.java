@@ -0,0 +1,128 @@
+package com.codev.infraestructure.jdbc;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.agroal.api.AgroalPoolInterceptor;
+import io.agroal.api.configuration.AgroalDataSourceConfiguration;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * DataSource handed to the repositories and to Hibernate in place of the pool. Each checkout is
+ * timed and attributed to the application method asking for it, found once per checkout on the
+ * stack, and the connection is wrapped so its statements and hold time are recorded against that
+ * method. It is an AgroalDataSource because Quarkus only accepts Agroal as Hibernate's connection
+ * provider; the pool operations go straight to the wrapped pool.
+ */
+public class InstrumentedDataSource implements AgroalDataSource {
+
+    private final AgroalDataSource delegate;
+
+    private final JdbcMetrics jdbcMetrics;
+
+    public InstrumentedDataSource(AgroalDataSource delegate, JdbcMetrics jdbcMetrics) {
+        this.delegate = delegate;
+        this.jdbcMetrics = jdbcMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        return instrument(delegate.getConnection(), start);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        return instrument(delegate.getConnection(username, password), start);
+    }
+
+    private Connection instrument(Connection connection, long checkoutStart) {
+        long checkedOutAt = System.nanoTime();
+
+        CallSiteStats stats = jdbcMetrics.callSite(CallSites.current());
+        stats.recordCheckoutWait(checkedOutAt - checkoutStart);
+
+        return JdbcProxies.proxy(Connection.class, new JdbcProxies.ConnectionHandler(connection, stats, checkedOutAt));
+    }
+
+    @Override
+    public AgroalDataSourceConfiguration getConfiguration() {
+        return delegate.getConfiguration();
+    }
+
+    @Override
+    public AgroalDataSourceMetrics getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Override
+    public void flush(FlushMode mode) {
+        delegate.flush(mode);
+    }
+
+    @Override
+    public void setPoolInterceptors(Collection<? extends AgroalPoolInterceptor> interceptors) {
+        delegate.setPoolInterceptors(interceptors);
+    }
+
+    @Override
+    public List<AgroalPoolInterceptor> getPoolInterceptors() {
+        return delegate.getPoolInterceptors();
+    }
+
+    @Override
+    public boolean isHealthy(boolean newConnection) throws SQLException {
+        return delegate.isHealthy(newConnection);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(delegate))
+            return iface.cast(delegate);
+
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+}
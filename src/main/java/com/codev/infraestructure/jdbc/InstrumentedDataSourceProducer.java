@@ -0,0 +1,36 @@
+package com.codev.infraestructure.jdbc;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.enterprise.inject.Produces;
+import jakarta.enterprise.inject.Typed;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.sql.DataSource;
+
+/**
+ * Takes over injection points of type DataSource, so the repositories go through the instrumented
+ * wrapper. Hibernate looks its connections up as the default DataSource too, so its statements are
+ * attributed to the application method that triggered them. The pool itself stays reachable as
+ * AgroalDataSource.
+ */
+@ApplicationScoped
+public class InstrumentedDataSourceProducer {
+
+    @Produces
+    @Singleton
+    @Alternative
+    @Priority(1)
+    @Typed(DataSource.class)
+    DataSource dataSource(
+            AgroalDataSource pool,
+            JdbcMetrics jdbcMetrics,
+            @ConfigProperty(name = "codev.jdbc.instrumentation.enabled", defaultValue = "true") boolean enabled
+    ) {
+        return enabled ? new InstrumentedDataSource(pool, jdbcMetrics) : pool;
+    }
+
+}
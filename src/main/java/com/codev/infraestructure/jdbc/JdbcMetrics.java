@@ -0,0 +1,110 @@
+package com.codev.infraestructure.jdbc;
+
+import com.codev.domain.dto.view.HistogramSummaryDTOView;
+import com.codev.domain.dto.view.JdbcCallSiteMetricsDTOView;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histograms of the JDBC work done through the instrumented DataSource, one set per call site,
+ * kept in process so no metrics backend is needed. Read through the admin endpoint, and written to
+ * the log every interval for the call sites that were used during it.
+ */
+@ApplicationScoped
+public class JdbcMetrics {
+
+    private static final Logger LOG = Logger.getLogger(JdbcMetrics.class);
+
+    private final long logIntervalMinutes;
+
+    private final Map<String, CallSiteStats> callSites = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService reporter;
+
+    public JdbcMetrics(
+            @ConfigProperty(name = "codev.jdbc.instrumentation.log-interval-minutes", defaultValue = "5") long logIntervalMinutes
+    ) {
+        this.logIntervalMinutes = logIntervalMinutes;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (logIntervalMinutes <= 0)
+            return;
+
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jdbc-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::logSummary, logIntervalMinutes, logIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (reporter != null)
+            reporter.shutdownNow();
+    }
+
+    CallSiteStats callSite(String callSite) {
+        return callSites.computeIfAbsent(callSite, CallSiteStats::new);
+    }
+
+    /**
+     * Totals since startup of every call site, the busiest first.
+     */
+    public List<JdbcCallSiteMetricsDTOView> snapshot() {
+        return callSites.values().stream()
+                .map(CallSiteStats::total)
+                .sorted(Comparator.comparingLong((JdbcCallSiteMetricsDTOView metrics) -> metrics.getHold().getCount()).reversed())
+                .toList();
+    }
+
+    /**
+     * Statements executed since startup over all call sites, Hibernate's included; the difference
+     * around a request is the number of round trips it made.
+     */
+    public long statementCount() {
+        return callSites.values().stream()
+                .mapToLong(stats -> stats.total().getStatement().getCount())
+                .sum();
+    }
+
+    void logSummary() {
+        try {
+            for (CallSiteStats stats : callSites.values()) {
+                JdbcCallSiteMetricsDTOView metrics = stats.interval();
+                if (metrics.getHold().getCount() == 0 && metrics.getStatement().getCount() == 0)
+                    continue;
+
+                LOG.infof("JDBC %s over the last %d min: %s checkouts, wait %s us, hold %s us; %s statements, %s us; rows %s",
+                        metrics.getCallSite(),
+                        logIntervalMinutes,
+                        metrics.getHold().getCount(),
+                        percentiles(metrics.getCheckoutWait()),
+                        percentiles(metrics.getHold()),
+                        metrics.getStatement().getCount(),
+                        percentiles(metrics.getStatement()),
+                        percentiles(metrics.getRows()));
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule
+            LOG.warn("JDBC metrics summary failed", e);
+        }
+    }
+
+    private static String percentiles(HistogramSummaryDTOView histogram) {
+        return "p50=" + histogram.getP50() + " p99=" + histogram.getP99() + " max=" + histogram.getMax();
+    }
+
+}
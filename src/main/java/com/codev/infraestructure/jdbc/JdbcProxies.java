@@ -0,0 +1,229 @@
+package com.codev.infraestructure.jdbc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dynamic proxies of the JDBC objects of one checkout. Everything is forwarded to the driver; the
+ * only added work is a clock read around executions and a counter on result sets, recorded into
+ * the call site without locking.
+ * <p>
+ * A statement goes through half a dozen proxies, so both ends are cached: calls are forwarded
+ * through a method handle per interface method instead of {@link Method#invoke}, and proxies are
+ * built from a constructor per interface instead of the lookups of
+ * {@link Proxy#newProxyInstance}. See JdbcProxyBenchmark in the benchmarks module.
+ */
+final class JdbcProxies {
+
+    private static final MethodType FORWARDER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, InvocationHandler.class);
+
+    // Proxies pass the same Method instances on every call, one per method of their interface
+    private static final Map<Method, MethodHandle> FORWARDERS = new ConcurrentHashMap<>();
+
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            Class<?> proxyClass = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> null).getClass();
+            try {
+                return MethodHandles.publicLookup()
+                        .findConstructor(proxyClass, MethodType.methodType(void.class, InvocationHandler.class))
+                        .asType(CONSTRUCTOR_TYPE);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("No constructor on the proxy of " + type.getName(), e);
+            }
+        }
+    };
+
+    private JdbcProxies() {}
+
+    static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        return FORWARDERS.computeIfAbsent(method, JdbcProxies::forwarder).invokeExact(target, args);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        try {
+            return (T) (Object) CONSTRUCTORS.get(type).invokeExact(handler);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not proxy " + type.getName(), e);
+        }
+    }
+
+    // (target, args) -> target.method(args...), throwing what the driver throws
+    private static MethodHandle forwarder(Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(FORWARDER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot forward " + method, e);
+        }
+    }
+
+    static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private final CallSiteStats stats;
+
+        private final long checkedOutAt;
+
+        private boolean closed;
+
+        ConnectionHandler(Connection connection, CallSiteStats stats, long checkedOutAt) {
+            this.connection = connection;
+            this.stats = stats;
+            this.checkedOutAt = checkedOutAt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("close")) {
+                if (!closed) {
+                    closed = true;
+                    stats.recordHold(System.nanoTime() - checkedOutAt);
+                }
+                return forward(connection, method, args);
+            }
+
+            Object result = forward(connection, method, args);
+
+            // createStatement, prepareStatement and prepareCall, proxied as the type they declare
+            if (result instanceof Statement)
+                return proxy(method.getReturnType(), new StatementHandler((Statement) result, stats));
+
+            return result;
+        }
+
+    }
+
+    static final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+
+        private final CallSiteStats stats;
+
+        StatementHandler(Statement statement, CallSiteStats stats) {
+            this.statement = statement;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.equals("getResultSet")) {
+                ResultSet resultSet = (ResultSet) forward(statement, method, args);
+                return resultSet != null ? proxy(ResultSet.class, new ResultSetHandler(resultSet, stats)) : null;
+            }
+
+            if (!name.startsWith("execute"))
+                return forward(statement, method, args);
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = forward(statement, method, args);
+            } finally {
+                stats.recordStatement(System.nanoTime() - start);
+            }
+
+            switch (name) {
+                case "executeQuery" -> {
+                    return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, stats));
+                }
+                case "executeUpdate", "executeLargeUpdate" -> stats.recordRows(((Number) result).longValue());
+                case "executeBatch" -> stats.recordRows(sum((int[]) result));
+                case "executeLargeBatch" -> stats.recordRows(sum((long[]) result));
+                case "execute" -> {
+                    // A result set is counted when it is read through getResultSet
+                    if (!(Boolean) result)
+                        stats.recordRows(Math.max(statement.getUpdateCount(), 0));
+                }
+                default -> {}
+            }
+            return result;
+        }
+
+        // Negative entries are SUCCESS_NO_INFO or EXECUTE_FAILED, not counts
+        private static long sum(int[] counts) {
+            long rows = 0;
+            for (int count : counts) {
+                if (count > 0)
+                    rows += count;
+            }
+            return rows;
+        }
+
+        private static long sum(long[] counts) {
+            long rows = 0;
+            for (long count : counts) {
+                if (count > 0)
+                    rows += count;
+            }
+            return rows;
+        }
+
+    }
+
+    static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+
+        private final CallSiteStats stats;
+
+        private long rows;
+
+        private boolean recorded;
+
+        ResultSetHandler(ResultSet resultSet, CallSiteStats stats) {
+            this.resultSet = resultSet;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next" -> {
+                    boolean hasRow = (Boolean) forward(resultSet, method, args);
+                    if (hasRow) {
+                        rows++;
+                    } else {
+                        record();
+                    }
+                    return hasRow;
+                }
+                case "close" -> {
+                    record();
+                    return forward(resultSet, method, args);
+                }
+                default -> {
+                    return forward(resultSet, method, args);
+                }
+            }
+        }
+
+        private void record() {
+            if (recorded)
+                return;
+
+            recorded = true;
+            stats.recordRows(rows);
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.codev.infraestructure.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Postgres driver wrapping the physical connections of the pool, configured as the datasource
+ * driver so Hibernate and the JDBC repositories both go through it. Statements keep their SQL and
+ * bind values and time each execution; the ones over the threshold are handed to the
+ * {@link SlowQueryRecorder}. Nothing else is added to the statement path.
+ */
+public class SlowQueryDriver implements Driver {
+
+    private final Driver delegate = new org.postgresql.Driver();
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        Connection connection = delegate.connect(url, info);
+        return connection != null ? instrument(connection) : null;
+    }
+
+    static Connection instrument(Connection connection) {
+        return JdbcProxies.proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public boolean acceptsURL(String url) throws SQLException {
+        return delegate.acceptsURL(url);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException {
+        return delegate.getPropertyInfo(url, info);
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return delegate.getMajorVersion();
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return delegate.getMinorVersion();
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return delegate.jdbcCompliant();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = JdbcProxies.forward(connection, method, args);
+
+            if (result instanceof Statement) {
+                // prepareStatement and prepareCall take their SQL first, createStatement at execution
+                String sql = !method.getName().equals("createStatement") ? (String) args[0] : null;
+                return JdbcProxies.proxy(method.getReturnType(), new StatementHandler((Statement) result, sql));
+            }
+
+            return result;
+        }
+
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private static final Object[] NO_BINDS = new Object[0];
+
+        private final Statement statement;
+
+        private final String preparedSql;
+
+        private Object[] binds = NO_BINDS;
+
+        private int bindCount;
+
+        private int batchSize;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.startsWith("execute"))
+                return execute(method, args);
+
+            // setString(index, value), setObject(index, value, type)...; a batch keeps the binds of its last row
+            if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else {
+                switch (name) {
+                    case "clearParameters" -> {
+                        binds = NO_BINDS;
+                        bindCount = 0;
+                    }
+                    case "addBatch" -> batchSize++;
+                    case "clearBatch" -> batchSize = 0;
+                    default -> {}
+                }
+            }
+
+            return JdbcProxies.forward(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                return JdbcProxies.forward(statement, method, args);
+            } catch (Throwable e) {
+                error = e;
+                throw e;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+
+                SlowQueryRecorder recorder = SlowQueryRecorder.active();
+                if (recorder != null && elapsed >= recorder.thresholdNanos()) {
+                    String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? (String) args[0] : null;
+                    recorder.record(sql, Arrays.copyOf(binds, bindCount), batchSize, elapsed, error);
+                }
+
+                if (method.getName().equals("executeBatch") || method.getName().equals("executeLargeBatch"))
+                    batchSize = 0;
+            }
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1)
+                return;
+
+            if (index > binds.length)
+                binds = Arrays.copyOf(binds, Math.max(index, binds.length * 2));
+
+            binds[index - 1] = value;
+            bindCount = Math.max(bindCount, index);
+        }
+
+    }
+
+}
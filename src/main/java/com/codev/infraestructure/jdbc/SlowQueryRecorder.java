@@ -0,0 +1,296 @@
+package com.codev.infraestructure.jdbc;
+
+import com.codev.domain.dto.view.SlowQueryDTOView;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the latest statements that ran over the threshold in a fixed ring, so diagnostics do not
+ * depend on logging every statement. A sample of the slow SELECT statements is run again under
+ * EXPLAIN (ANALYZE, BUFFERS) on a single background thread, inside a read-only transaction that is
+ * rolled back, and the plan is attached to the recorded entry with its literals blanked out, as
+ * they are the bind values. Statements reach it through {@link SlowQueryDriver}. At most one slow
+ * statement per log interval is logged, with the count of those that were not.
+ */
+@ApplicationScoped
+public class SlowQueryRecorder {
+
+    private static final Logger LOG = Logger.getLogger(SlowQueryRecorder.class);
+
+    // A quoted Postgres literal, quotes inside it doubled: 'O''Brien'::text
+    private static final Pattern PLAN_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static volatile SlowQueryRecorder active;
+
+    private final AgroalDataSource pool;
+
+    private final boolean enabled;
+
+    private final long thresholdNanos;
+
+    private final double explainSampleRate;
+
+    private final int explainTimeoutSeconds;
+
+    private final long logIntervalNanos;
+
+    private final AtomicLong nextLogAt;
+
+    private final AtomicLong unlogged = new AtomicLong();
+
+    private final AtomicReferenceArray<SlowQueryDTOView> ring;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Keeps the explainer from recording its own EXPLAIN ANALYZE, which runs as long as the statement
+    private final ThreadLocal<Boolean> explaining = ThreadLocal.withInitial(() -> false);
+
+    private ThreadPoolExecutor explainer;
+
+    public SlowQueryRecorder(
+            AgroalDataSource pool,
+            @ConfigProperty(name = "codev.jdbc.slow-query.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "codev.jdbc.slow-query.threshold-ms", defaultValue = "200") long thresholdMs,
+            @ConfigProperty(name = "codev.jdbc.slow-query.buffer-size", defaultValue = "256") int bufferSize,
+            @ConfigProperty(name = "codev.jdbc.slow-query.explain-sample-rate", defaultValue = "0.1") double explainSampleRate,
+            @ConfigProperty(name = "codev.jdbc.slow-query.explain-timeout-seconds", defaultValue = "10") int explainTimeoutSeconds,
+            @ConfigProperty(name = "codev.jdbc.slow-query.log-interval-seconds", defaultValue = "60") long logIntervalSeconds
+    ) {
+        this.pool = pool;
+        this.enabled = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.ring = new AtomicReferenceArray<>(Math.max(bufferSize, 1));
+        this.explainSampleRate = explainSampleRate;
+        this.explainTimeoutSeconds = explainTimeoutSeconds;
+        this.logIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(logIntervalSeconds, 0));
+        this.nextLogAt = new AtomicLong(System.nanoTime());
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled)
+            return;
+
+        // One plan at a time and at most one waiting, the rest are not sampled
+        explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explainer");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+
+        active = this;
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        active = null;
+
+        if (explainer != null)
+            explainer.shutdownNow();
+    }
+
+    /**
+     * The recorder statements report to, or null before startup or when it is disabled.
+     */
+    static SlowQueryRecorder active() {
+        return active;
+    }
+
+    long thresholdNanos() {
+        return thresholdNanos;
+    }
+
+    void record(String sql, Object[] binds, int batchSize, long elapsedNanos, Throwable error) {
+        if (explaining.get())
+            return;
+
+        List<String> redactedBinds = new ArrayList<>(binds.length);
+        for (Object bind : binds) {
+            redactedBinds.add(redact(bind));
+        }
+
+        SlowQueryDTOView slowQuery = new SlowQueryDTOView(
+                sequence.getAndIncrement(),
+                LocalDateTime.now(),
+                CallSites.current(),
+                sql,
+                redactedBinds,
+                batchSize,
+                TimeUnit.NANOSECONDS.toMicros(elapsedNanos),
+                error != null ? error.getMessage() : null,
+                null
+        );
+
+        ring.set(slot(slowQuery.getSequence()), slowQuery);
+        log(slowQuery);
+
+        if (error == null && batchSize == 0 && isSelect(sql) && ThreadLocalRandom.current().nextDouble() < explainSampleRate)
+            explainer.execute(() -> explain(slowQuery, binds));
+    }
+
+    /**
+     * The latest slow statements, newest first, optionally only those of one call site.
+     */
+    public List<SlowQueryDTOView> findRecent(int limit, String callSite) {
+        List<SlowQueryDTOView> recent = new ArrayList<>();
+
+        long newest = sequence.get() - 1;
+        long oldest = Math.max(newest - ring.length() + 1, 0);
+
+        for (long current = newest; current >= oldest && recent.size() < limit; current--) {
+            SlowQueryDTOView slowQuery = ring.get(slot(current));
+
+            // Null or overwritten by a newer statement while reading
+            if (slowQuery == null || slowQuery.getSequence() != current)
+                continue;
+
+            if (callSite == null || callSite.equals(slowQuery.getCallSite()))
+                recent.add(slowQuery);
+        }
+        return recent;
+    }
+
+    /*
+     * Slow statements come in bursts when the database itself is slow: the first one of each
+     * interval is logged, the others are only counted and kept in the ring.
+     */
+    private void log(SlowQueryDTOView slowQuery) {
+        long now = System.nanoTime();
+        long next = nextLogAt.get();
+
+        if (now - next < 0 || !nextLogAt.compareAndSet(next, now + logIntervalNanos)) {
+            unlogged.incrementAndGet();
+            return;
+        }
+
+        long skipped = unlogged.getAndSet(0);
+        if (skipped == 0) {
+            LOG.warnf("Slow statement of %d ms in %s: %s",
+                    slowQuery.getDurationMicros() / 1000, slowQuery.getCallSite(), slowQuery.getSql());
+        } else {
+            LOG.warnf("Slow statement of %d ms in %s: %s (and %d more not logged, see GET /admin/database/slow-queries)",
+                    slowQuery.getDurationMicros() / 1000, slowQuery.getCallSite(), slowQuery.getSql(), skipped);
+        }
+    }
+
+    private void explain(SlowQueryDTOView slowQuery, Object[] binds) {
+        String plan;
+
+        explaining.set(true);
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                plan = readPlan(connection, slowQuery.getSql(), binds);
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            plan = "EXPLAIN failed: " + e.getMessage();
+        } finally {
+            explaining.set(false);
+        }
+
+        SlowQueryDTOView explained = new SlowQueryDTOView(
+                slowQuery.getSequence(),
+                slowQuery.getRecordedAt(),
+                slowQuery.getCallSite(),
+                slowQuery.getSql(),
+                slowQuery.getBinds(),
+                slowQuery.getBatchSize(),
+                slowQuery.getDurationMicros(),
+                slowQuery.getError(),
+                plan
+        );
+
+        // Left alone if the ring already moved past it
+        ring.compareAndSet(slot(slowQuery.getSequence()), slowQuery, explained);
+    }
+
+    private String readPlan(Connection connection, String sql, Object[] binds) throws SQLException {
+        try (PreparedStatement readOnly = connection.prepareStatement("SET TRANSACTION READ ONLY")) {
+            readOnly.execute();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+            statement.setQueryTimeout(explainTimeoutSeconds);
+
+            for (int i = 0; i < binds.length; i++) {
+                if (binds[i] == null) {
+                    statement.setNull(i + 1, Types.NULL);
+                } else {
+                    statement.setObject(i + 1, binds[i]);
+                }
+            }
+
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    if (!plan.isEmpty())
+                        plan.append('\n');
+                    plan.append(resultSet.getString(1));
+                }
+            }
+            return scrubLiterals(plan.toString());
+        }
+    }
+
+    /*
+     * The plan of a statement run with its binds shows them as literals in its conditions, the
+     * redaction of the binds would be for nothing. EXPLAIN (GENERIC_PLAN) would avoid them, but it
+     * needs Postgres 16 and cannot be combined with ANALYZE.
+     */
+    static String scrubLiterals(String plan) {
+        return PLAN_LITERAL.matcher(plan).replaceAll("'?'");
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % ring.length());
+    }
+
+    // ANALYZE runs the statement again, so only plain reads are sampled
+    private static boolean isSelect(String sql) {
+        return sql != null && sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    /*
+     * Numbers, booleans and ids are kept to tell executions apart; anything else may be personal
+     * data or a secret and only shows its type and size.
+     */
+    private static String redact(Object bind) {
+        if (bind == null)
+            return "NULL";
+
+        if (bind instanceof Number || bind instanceof Boolean || bind instanceof UUID)
+            return bind.toString();
+
+        if (bind instanceof CharSequence text)
+            return "<String, " + text.length() + " chars>";
+
+        if (bind instanceof byte[] bytes)
+            return "<byte[], " + bytes.length + " bytes>";
+
+        return "<" + bind.getClass().getSimpleName() + ">";
+    }
+
+}
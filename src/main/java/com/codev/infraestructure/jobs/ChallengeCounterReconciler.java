@@ -0,0 +1,114 @@
+package com.codev.infraestructure.jobs;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically recounts tb_participant and tb_solution per challenge and repairs the
+ * denormalized counters that drifted, for example after a manual fix in the database. Challenges
+ * are walked in id batches, each in its own statement, so no lock is held for the whole table.
+ * <p>
+ * The drift is measured in the statement's snapshot, as the recount minus the counter, and added
+ * to the counter as it is when the row is updated. A join committed after the snapshot moved the
+ * counter and the rows together, so it is kept rather than overwritten by the older recount.
+ */
+@ApplicationScoped
+public class ChallengeCounterReconciler {
+
+    private static final Logger LOG = Logger.getLogger(ChallengeCounterReconciler.class);
+
+    private static final String RECONCILE_BATCH_SQL = "WITH batch AS (" +
+            "SELECT id, participants_count, solutions_count FROM tb_challenge " +
+            "WHERE (CAST(? AS uuid) IS NULL OR id > ?) ORDER BY id LIMIT ?" +
+            "), drift AS (" +
+            "SELECT b.id, " +
+            "(SELECT count(*) FROM tb_participant p WHERE p.challenge_id = b.id) - b.participants_count as participants, " +
+            "(SELECT count(*) FROM tb_solution s WHERE s.challenge_id = b.id) - b.solutions_count as solutions " +
+            "FROM batch b" +
+            "), repaired AS (" +
+            "UPDATE tb_challenge c SET participants_count = c.participants_count + d.participants, " +
+            "solutions_count = c.solutions_count + d.solutions " +
+            "FROM drift d " +
+            "WHERE c.id = d.id AND (d.participants <> 0 OR d.solutions <> 0) " +
+            "RETURNING c.id" +
+            ") " +
+            "SELECT (SELECT id FROM batch ORDER BY id DESC LIMIT 1) as last_id, (SELECT count(*) FROM repaired) as repaired";
+
+    private final DataSource dataSource;
+
+    private final long intervalMinutes;
+
+    private final int batchSize;
+
+    private ScheduledExecutorService scheduler;
+
+    public ChallengeCounterReconciler(
+            DataSource dataSource,
+            @ConfigProperty(name = "codev.challenges.counters.reconcile-interval-minutes", defaultValue = "60") long intervalMinutes,
+            @ConfigProperty(name = "codev.challenges.counters.reconcile-batch-size", defaultValue = "500") int batchSize
+    ) {
+        this.dataSource = dataSource;
+        this.intervalMinutes = intervalMinutes;
+        this.batchSize = batchSize;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (intervalMinutes <= 0)
+            return;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "challenge-counter-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcile, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (scheduler != null)
+            scheduler.shutdownNow();
+    }
+
+    void reconcile() {
+        long repaired = 0;
+        UUID lastId = null;
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(RECONCILE_BATCH_SQL)) {
+
+            do {
+                statement.setObject(1, lastId);
+                statement.setObject(2, lastId);
+                statement.setInt(3, batchSize);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    lastId = resultSet.getObject("last_id", UUID.class);
+                    repaired += resultSet.getLong("repaired");
+                }
+            } while (lastId != null && !Thread.currentThread().isInterrupted());
+
+        } catch (SQLException e) {
+            LOG.error("Unable to reconcile the challenge counters", e);
+            return;
+        }
+
+        if (repaired > 0)
+            LOG.warnf("Repaired the participant and solution counters of %d challenges", repaired);
+    }
+
+}
@@ -0,0 +1,384 @@
+package com.codev.infraestructure.leaderboard;
+
+import com.codev.domain.dto.view.LeaderboardEntryDTOView;
+import com.codev.domain.enums.ChallengeStatus;
+import com.codev.infraestructure.concurrency.ConnectionPoolGate;
+import com.codev.utils.GlobalConstants;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live ranking of the solutions of each active challenge by likes. A board is loaded from
+ * tb_solution on its first read, then every committed like or unlike moves one solution in its
+ * skip list in O(log n), so reads never touch the database. Boards are dropped when their
+ * challenge is deactivated or changed, when there are too many of them (least recently read
+ * first), and reloaded once they are older than the refresh interval so a missed update cannot
+ * persist. Finished challenges are not kept in memory; their final ranking is read with an
+ * indexed query instead.
+ * <p>
+ * The endpoint is not {@link com.codev.infraestructure.concurrency.ConnectionBound}, warm reads
+ * need no connection; the loads and the finished query take a permit of the
+ * {@link ConnectionPoolGate} around their own JDBC work instead.
+ */
+@ApplicationScoped
+public class ChallengeLeaderboards {
+
+    // PostgreSQL orders uuid byte by byte, which is the unsigned order of the two halves; UUID.compareTo is signed
+    private static final Comparator<UUID> UUID_BYTE_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private static final Comparator<Ranked> RANKING = Comparator.comparingLong(Ranked::likes).reversed()
+            .thenComparing(Ranked::solutionId, UUID_BYTE_ORDER);
+
+    private static final String SOLUTIONS_SQL = "SELECT s.id, s.author_id, u.name, s.repository_url, s.deploy_url, s.likes_count, s.likes_version " +
+            "FROM tb_solution s JOIN tb_user u ON u.id = s.author_id " +
+            "WHERE s.challenge_id = ?";
+
+    private final DataSource dataSource;
+
+    private final ConnectionPoolGate connectionPoolGate;
+
+    private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    private final int maxBoards;
+
+    private final long refreshAfterNanos;
+
+    private final Map<UUID, Leaderboard> boards = new ConcurrentHashMap<>();
+
+    private final Map<UUID, UUID> challengeBySolution = new ConcurrentHashMap<>();
+
+    public ChallengeLeaderboards(
+            DataSource dataSource,
+            ConnectionPoolGate connectionPoolGate,
+            TransactionSynchronizationRegistry transactionSynchronizationRegistry,
+            @ConfigProperty(name = "codev.leaderboard.max-challenges", defaultValue = "1000") int maxBoards,
+            @ConfigProperty(name = "codev.leaderboard.refresh-after-seconds", defaultValue = "300") long refreshAfterSeconds
+    ) {
+        this.dataSource = dataSource;
+        this.connectionPoolGate = connectionPoolGate;
+        this.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+        this.maxBoards = maxBoards;
+        this.refreshAfterNanos = TimeUnit.SECONDS.toNanos(refreshAfterSeconds);
+    }
+
+    /**
+     * The first {@code limit} solutions of the challenge, best first. Ties on likes are broken
+     * by solution id in PostgreSQL's uuid order, so boards and finished challenges rank alike.
+     */
+    public List<LeaderboardEntryDTOView> top(UUID challengeId, int limit) {
+        Leaderboard board = boards.computeIfAbsent(challengeId, Leaderboard::new);
+
+        try {
+            board.ensureFresh();
+        } catch (RuntimeException e) {
+            evict(challengeId);
+            throw e;
+        }
+
+        if (!board.retained) {
+            evict(challengeId);
+            return findFinishedTop(challengeId, limit);
+        }
+
+        if (boards.size() > maxBoards)
+            evictLeastRecentlyRead();
+
+        return board.top(limit);
+    }
+
+    /**
+     * Moves the solution to its new count once the like commits. The count and likes_version are
+     * the ones returned by the statement that changed tb_solution, not a delta, and a count is only
+     * applied over an older version, so neither a reload nor another like committing first can be
+     * overwritten by a late callback.
+     */
+    public void updateAfterCommit(UUID solutionId, long likes, long version) {
+        afterCommit(() -> {
+            UUID challengeId = challengeBySolution.get(solutionId);
+            Leaderboard board = challengeId != null ? boards.get(challengeId) : null;
+
+            if (board != null)
+                board.update(solutionId, likes, version);
+        });
+    }
+
+    public void addAfterCommit(UUID challengeId, LeaderboardEntryDTOView solution) {
+        afterCommit(() -> {
+            Leaderboard board = boards.get(challengeId);
+
+            if (board != null)
+                board.add(solution, 0);
+        });
+    }
+
+    public void removeAfterCommit(UUID solutionId) {
+        afterCommit(() -> {
+            UUID challengeId = challengeBySolution.remove(solutionId);
+            Leaderboard board = challengeId != null ? boards.get(challengeId) : null;
+
+            if (board != null)
+                board.remove(solutionId);
+        });
+    }
+
+    public void evictAfterCommit(UUID challengeId) {
+        afterCommit(() -> evict(challengeId));
+    }
+
+    private void evict(UUID challengeId) {
+        Leaderboard board = boards.remove(challengeId);
+
+        if (board != null)
+            board.entries.keySet().forEach(solutionId -> challengeBySolution.remove(solutionId, challengeId));
+    }
+
+    private void evictLeastRecentlyRead() {
+        boards.values().stream()
+                .min(Comparator.comparingLong(board -> board.lastReadAt))
+                .ifPresent(board -> evict(board.challengeId));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (transactionSynchronizationRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            change.run();
+            return;
+        }
+
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {}
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED)
+                    change.run();
+            }
+        });
+    }
+
+    private List<LeaderboardEntryDTOView> findFinishedTop(UUID challengeId, int limit) {
+        // Same order as RANKING: s.id is a uuid column, compared byte by byte
+        String sql = SOLUTIONS_SQL + " ORDER BY s.likes_count DESC, s.id LIMIT ?";
+
+        connectionPoolGate.acquire();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setObject(1, challengeId);
+            statement.setInt(2, limit);
+
+            List<LeaderboardEntryDTOView> entries = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    LeaderboardEntryDTOView entry = toEntry(resultSet);
+                    entry.setRank(entries.size() + 1);
+                    entries.add(entry);
+                }
+            }
+            return entries;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            connectionPoolGate.release();
+        }
+    }
+
+    private static LeaderboardEntryDTOView toEntry(ResultSet resultSet) throws SQLException {
+        return new LeaderboardEntryDTOView(
+                0,
+                resultSet.getObject("id", UUID.class),
+                resultSet.getObject("author_id", UUID.class),
+                resultSet.getString("name"),
+                resultSet.getString("repository_url"),
+                resultSet.getString("deploy_url"),
+                resultSet.getLong("likes_count")
+        );
+    }
+
+    private record Ranked(UUID solutionId, long likes) {}
+
+    private class Leaderboard {
+
+        private final UUID challengeId;
+
+        private final NavigableSet<Ranked> ranking = new ConcurrentSkipListSet<>(RANKING);
+
+        // Display data and current count per solution; the count is the one held in the ranking
+        private final Map<UUID, LeaderboardEntryDTOView> entries = new ConcurrentHashMap<>();
+
+        // likes_version of the count held for each solution, only read and written under the lock
+        private final Map<UUID, Long> versions = new HashMap<>();
+
+        private volatile boolean retained = true;
+
+        private volatile long loadedAt;
+
+        private volatile long lastReadAt;
+
+        // Not synchronized: the load does JDBC under this lock, which would pin a virtual thread
+        private final ReentrantLock lock = new ReentrantLock();
+
+        Leaderboard(UUID challengeId) {
+            this.challengeId = challengeId;
+        }
+
+        void ensureFresh() {
+            lastReadAt = System.nanoTime();
+
+            if (isFresh())
+                return;
+
+            lock.lock();
+            try {
+                if (!isFresh())
+                    load();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isFresh() {
+            return loadedAt != 0 && (refreshAfterNanos <= 0 || System.nanoTime() - loadedAt < refreshAfterNanos);
+        }
+
+        private void load() {
+            connectionPoolGate.acquire();
+            try (Connection connection = dataSource.getConnection()) {
+                if (!loadChallenge(connection))
+                    return;
+
+                ranking.clear();
+                entries.keySet().forEach(solutionId -> challengeBySolution.remove(solutionId, challengeId));
+                entries.clear();
+                versions.clear();
+
+                try (PreparedStatement statement = connection.prepareStatement(SOLUTIONS_SQL)) {
+                    statement.setObject(1, challengeId);
+
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next())
+                            add(toEntry(resultSet), resultSet.getLong("likes_version"));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            } finally {
+                connectionPoolGate.release();
+            }
+
+            loadedAt = System.nanoTime();
+        }
+
+        /*
+         * Reads the challenge state, failing for a missing or deactivated challenge and marking
+         * finished ones as not worth keeping. Returns whether the solutions should be loaded.
+         */
+        private boolean loadChallenge(Connection connection) throws SQLException {
+            String sql = "SELECT active, status FROM tb_challenge WHERE id = ?";
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setObject(1, challengeId);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next() || resultSet.getBoolean("active") != GlobalConstants.ACTIVE)
+                        throw new EntityNotFoundException("Challenge not found");
+
+                    retained = !ChallengeStatus.FINISHED.name().equals(resultSet.getString("status"));
+                    return retained;
+                }
+            }
+        }
+
+        List<LeaderboardEntryDTOView> top(int limit) {
+            List<LeaderboardEntryDTOView> top = new ArrayList<>(limit);
+            Set<UUID> seen = new HashSet<>();
+
+            // An update inserts the new position before removing the old one, so a concurrent
+            // read may see a solution twice but never miss it
+            for (Ranked ranked : ranking) {
+                if (top.size() == limit)
+                    break;
+
+                LeaderboardEntryDTOView entry = entries.get(ranked.solutionId());
+                if (entry == null || !seen.add(ranked.solutionId()))
+                    continue;
+
+                top.add(new LeaderboardEntryDTOView(
+                        top.size() + 1,
+                        entry.getSolutionId(),
+                        entry.getAuthorId(),
+                        entry.getAuthorName(),
+                        entry.getRepositoryUrl(),
+                        entry.getDeployUrl(),
+                        ranked.likes()
+                ));
+            }
+            return top;
+        }
+
+        void add(LeaderboardEntryDTOView entry, long version) {
+            lock.lock();
+            try {
+                if (entries.putIfAbsent(entry.getSolutionId(), entry) != null)
+                    return;
+
+                versions.put(entry.getSolutionId(), version);
+                ranking.add(new Ranked(entry.getSolutionId(), entry.getLikes()));
+                challengeBySolution.put(entry.getSolutionId(), challengeId);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void update(UUID solutionId, long likes, long version) {
+            lock.lock();
+            try {
+                LeaderboardEntryDTOView entry = entries.get(solutionId);
+                if (entry == null || versions.get(solutionId) >= version)
+                    return;
+
+                versions.put(solutionId, version);
+                if (entry.getLikes() == likes)
+                    return;
+
+                ranking.add(new Ranked(solutionId, likes));
+                ranking.remove(new Ranked(solutionId, entry.getLikes()));
+                entry.setLikes(likes);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(UUID solutionId) {
+            lock.lock();
+            try {
+                LeaderboardEntryDTOView entry = entries.remove(solutionId);
+                versions.remove(solutionId);
+
+                if (entry != null)
+                    ranking.remove(new Ranked(solutionId, entry.getLikes()));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+    }
+
+}
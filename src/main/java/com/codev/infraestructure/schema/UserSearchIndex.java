@@ -0,0 +1,91 @@
+package com.codev.infraestructure.schema;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates the trigram index behind the user name search once Hibernate has built the schema.
+ * A GiST index with gist_trgm_ops on lower(name) serves both {@code LIKE 'x%'} and {@code LIKE '%x%'},
+ * including bound patterns, so neither search mode scans tb_user. Unlike GIN it also returns rows
+ * in order of trigram distance ({@code <->}), so the search can stop at its nearest candidates.
+ * <p>
+ * Whether pg_trgm ended up installed is checked afterwards, so the search only ranks by
+ * {@code similarity()} on databases that have it.
+ */
+@ApplicationScoped
+public class UserSearchIndex {
+
+    private static final Logger LOG = Logger.getLogger(UserSearchIndex.class);
+
+    private final DataSource dataSource;
+
+    private final boolean enabled;
+
+    private final int maxCandidates;
+
+    private volatile boolean trigramAvailable;
+
+    public UserSearchIndex(
+            DataSource dataSource,
+            @ConfigProperty(name = "codev.users.search.create-index", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "codev.users.search.max-candidates", defaultValue = "1000") int maxCandidates
+    ) {
+        if (maxCandidates <= 0)
+            throw new IllegalArgumentException("codev.users.search.max-candidates must be positive");
+
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+
+            if (enabled) {
+                try {
+                    statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+                    statement.execute("DROP INDEX IF EXISTS idx_user_name_trgm");
+                    statement.execute("CREATE INDEX IF NOT EXISTS idx_user_name_trgm_gist ON tb_user USING gist (lower(name) gist_trgm_ops)");
+                } catch (SQLException e) {
+                    LOG.warn("Unable to create the trigram index on tb_user, user search will scan the table", e);
+                }
+            }
+
+            try (ResultSet resultSet = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')")) {
+                trigramAvailable = resultSet.next() && resultSet.getBoolean(1);
+            }
+
+        } catch (SQLException e) {
+            LOG.warn("Unable to check for the pg_trgm extension, user search will not rank by similarity", e);
+        }
+
+        if (!trigramAvailable)
+            LOG.info("pg_trgm is not installed, substring user search is ranked by match position instead of similarity");
+    }
+
+    /**
+     * True once startup found pg_trgm installed, so {@code similarity()} can be called.
+     */
+    public boolean isTrigramAvailable() {
+        return trigramAvailable;
+    }
+
+    /**
+     * How many matching users a search ranks at most. The ranking sort runs over this many rows
+     * instead of every match of a short term.
+     */
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+}
@@ -0,0 +1,317 @@
+package com.codev.infraestructure.search;
+
+import com.codev.domain.enums.ChallengeStatus;
+import com.codev.domain.model.Challenge;
+import com.codev.utils.GlobalConstants;
+import com.codev.utils.helpers.ChallengeSearchCursor;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the title and description of the active challenges, ranked with
+ * BM25. Terms are folded to lower case without accents, so "programação" matches "programacao".
+ * Writes are applied only after their transaction commits and the whole index is rebuilt from
+ * the database at startup.
+ */
+@ApplicationScoped
+public class ChallengeSearchIndex {
+
+    private static final Logger LOG = Logger.getLogger(ChallengeSearchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "de", "da", "do", "das", "dos",
+            "e", "em", "no", "na", "nos", "nas", "ao", "aos", "com", "por", "para", "pra", "que",
+            "se", "ou", "mas", "como", "the", "of", "and", "to", "in", "on", "for", "with"
+    );
+
+    // A title term counts as this many occurrences, so matches in the title outrank the description
+    private static final int TITLE_BOOST = 3;
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    private final DataSource dataSource;
+
+    private final boolean rebuildOnStart;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Document> documents = new HashMap<>();
+
+    private final Map<String, Map<UUID, Integer>> postings = new HashMap<>();
+
+    private long totalLength;
+
+    public ChallengeSearchIndex(
+            DataSource dataSource,
+            @ConfigProperty(name = "codev.challenges.search.rebuild-on-start", defaultValue = "true") boolean rebuildOnStart
+    ) {
+        this.dataSource = dataSource;
+        this.rebuildOnStart = rebuildOnStart;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (rebuildOnStart)
+            rebuild();
+    }
+
+    public void rebuild() {
+        String sql = "SELECT id, title, description, category_id, status FROM tb_challenge WHERE active = ?";
+
+        List<Document> loaded = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setBoolean(1, GlobalConstants.ACTIVE);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String status = resultSet.getString("status");
+                    loaded.add(toDocument(
+                            resultSet.getObject("id", UUID.class),
+                            resultSet.getString("title"),
+                            resultSet.getString("description"),
+                            resultSet.getObject("category_id", UUID.class),
+                            status != null ? ChallengeStatus.valueOf(status) : null
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("Unable to rebuild the challenge search index", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            totalLength = 0;
+            loaded.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        LOG.infof("Challenge search index rebuilt with %d challenges", loaded.size());
+    }
+
+    /**
+     * Indexes the current state of the challenge once the running transaction commits. The text
+     * is read now, while the entity is still managed.
+     */
+    public void indexAfterCommit(Challenge challenge, TransactionSynchronizationRegistry registry) {
+        UUID challengeId = challenge.getId();
+        Document document = challenge.isActive()
+                ? toDocument(
+                        challengeId,
+                        challenge.getTitle(),
+                        challenge.getDescription(),
+                        challenge.getCategory() != null ? challenge.getCategory().getId() : null,
+                        challenge.getStatus()
+                )
+                : null;
+
+        afterCommit(registry, () -> {
+            if (document != null) {
+                put(document);
+            } else {
+                remove(challengeId);
+            }
+        });
+    }
+
+    /**
+     * Indexes challenges written outside of a JTA transaction, once their own commit succeeded.
+     */
+    public void indexCommitted(Collection<Challenge> challenges) {
+        List<Document> indexed = challenges.stream()
+                .filter(Challenge::isActive)
+                .map(challenge -> toDocument(
+                        challenge.getId(),
+                        challenge.getTitle(),
+                        challenge.getDescription(),
+                        challenge.getCategory() != null ? challenge.getCategory().getId() : null,
+                        challenge.getStatus()
+                ))
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            for (Document document : indexed) {
+                removeDocument(document.id());
+                add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAfterCommit(UUID challengeId, TransactionSynchronizationRegistry registry) {
+        afterCommit(registry, () -> remove(challengeId));
+    }
+
+    /**
+     * Returns up to {@code size} hits ordered by score, then id, continuing after the cursor when
+     * one is given.
+     */
+    public List<Hit> search(String query, UUID categoryId, ChallengeStatus status, ChallengeSearchCursor cursor, int size) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+
+        if (terms.isEmpty())
+            return new ArrayList<>();
+
+        Map<UUID, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            double averageLength = documentCount > 0 ? (double) totalLength / documentCount : 0;
+
+            for (String term : terms) {
+                Map<UUID, Integer> posting = postings.get(term);
+                if (posting == null)
+                    continue;
+
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+
+                for (Map.Entry<UUID, Integer> entry : posting.entrySet()) {
+                    Document document = documents.get(entry.getKey());
+
+                    if (categoryId != null && !categoryId.equals(document.categoryId()))
+                        continue;
+                    if (status != null && status != document.status())
+                        continue;
+
+                    int frequency = entry.getValue();
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    scores.merge(document.id(), idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id);
+        Hit after = cursor != null ? new Hit(cursor.getId(), cursor.getScore()) : null;
+
+        return scores.entrySet().stream()
+                .map(entry -> new Hit(entry.getKey(), entry.getValue()))
+                .filter(hit -> after == null || ranking.compare(hit, after) > 0)
+                .sorted(ranking)
+                .limit(size)
+                .toList();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank())
+            return new ArrayList<>();
+
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (token.length() > 1 && !STOPWORDS.contains(token))
+                tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private Document toDocument(UUID id, String title, String description, UUID categoryId, ChallengeStatus status) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+
+        for (String token : tokenize(title)) {
+            frequencies.merge(token, TITLE_BOOST, Integer::sum);
+            length += TITLE_BOOST;
+        }
+        for (String token : tokenize(description)) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        return new Document(id, categoryId, status, frequencies, length);
+    }
+
+    private void afterCommit(TransactionSynchronizationRegistry registry, Runnable change) {
+        registry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {}
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED)
+                    change.run();
+            }
+        });
+    }
+
+    private void put(Document document) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.id());
+            add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(UUID challengeId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(challengeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Document document) {
+        documents.put(document.id(), document);
+        totalLength += document.length();
+
+        for (Map.Entry<String, Integer> entry : document.frequencies().entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(document.id(), entry.getValue());
+        }
+    }
+
+    private void removeDocument(UUID challengeId) {
+        Document previous = documents.remove(challengeId);
+        if (previous == null)
+            return;
+
+        totalLength -= previous.length();
+
+        for (String term : previous.frequencies().keySet()) {
+            Map<UUID, Integer> posting = postings.get(term);
+            posting.remove(challengeId);
+            if (posting.isEmpty())
+                postings.remove(term);
+        }
+    }
+
+    public record Hit(UUID id, double score) {}
+
+    private record Document(UUID id, UUID categoryId, ChallengeStatus status, Map<String, Integer> frequencies, int length) {}
+
+}
@@ -0,0 +1,74 @@
+package com.codev.utils.helpers;
+
+import com.codev.domain.dto.view.ChallengeDTOView;
+import com.codev.domain.enums.OrderBy;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position for the challenge listing. It holds the last {@code (createdAt, id)}
+ * seen by the client for {@link OrderBy#LATEST} and only the last {@code id} for ASC/DESC.
+ */
+@Getter
+public class ChallengeCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+
+    private final UUID id;
+
+    public ChallengeCursor(LocalDateTime createdAt, UUID id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = createdAt != null ? createdAt + SEPARATOR + id : id.toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChallengeCursor decode(String cursor, OrderBy orderBy) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+
+            if (orderBy == OrderBy.LATEST) {
+                if (separatorIndex < 0)
+                    throw new IllegalArgumentException("Cursor does not belong to the LATEST ordering.");
+
+                return new ChallengeCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1))
+                );
+            }
+
+            if (separatorIndex >= 0)
+                throw new IllegalArgumentException("Cursor does not belong to the " + orderBy + " ordering.");
+
+            return new ChallengeCursor(null, UUID.fromString(raw));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+    /**
+     * Builds the cursor that continues after the given page, or returns null when the page
+     * was not full and therefore is the last one.
+     */
+    public static ChallengeCursor next(List<ChallengeDTOView> page, Integer size, OrderBy orderBy) {
+        if (page.isEmpty() || page.size() < size)
+            return null;
+
+        ChallengeDTOView last = page.get(page.size() - 1);
+
+        return new ChallengeCursor(orderBy == OrderBy.LATEST ? last.getCreatedAt() : null, last.getId());
+    }
+
+}
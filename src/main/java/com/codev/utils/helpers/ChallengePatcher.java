@@ -0,0 +1,21 @@
+package com.codev.utils.helpers;
+
+import com.codev.domain.dto.form.ChallengeDTOForm;
+import com.codev.domain.model.Challenge;
+
+/**
+ * Copies the form onto the challenge. PUT validates the whole form, so every field copied here is
+ * present; with @DynamicUpdate only the columns that really changed are written.
+ */
+public class ChallengePatcher {
+
+    private ChallengePatcher() {}
+
+    public static void apply(Challenge challenge, ChallengeDTOForm challengeDTOForm) {
+        challenge.setTitle(challengeDTOForm.getTitle());
+        challenge.setDescription(challengeDTOForm.getDescription());
+        challenge.setImageUrl(challengeDTOForm.getImageUrl());
+        challenge.setStatus(challengeDTOForm.getStatus());
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.codev.utils.helpers;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque position in a ranked challenge search: the {@code (score, id)} of the last hit the
+ * client has seen. Scores move when the index changes, so a page after an edit can skip or
+ * repeat a hit near the boundary, but it never restarts from the top.
+ */
+@Getter
+public class ChallengeSearchCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final double score;
+
+    private final UUID id;
+
+    public ChallengeSearchCursor(double score, UUID id) {
+        this.score = score;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = score + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChallengeSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+
+            if (separatorIndex < 0)
+                throw new IllegalArgumentException("Cursor does not belong to a search.");
+
+            return new ChallengeSearchCursor(
+                Double.parseDouble(raw.substring(0, separatorIndex)),
+                UUID.fromString(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.codev.utils.helpers;
+
+import com.codev.domain.dto.view.ChallengeDTOView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ChallengeSearchPage {
+
+    private final List<ChallengeDTOView> challenges;
+
+    // Null on the last page
+    private final String nextCursor;
+
+}
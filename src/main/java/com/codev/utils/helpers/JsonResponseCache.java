@@ -0,0 +1,92 @@
+package com.codev.utils.helpers;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps one response body already serialized to JSON together with its ETag, for reference data
+ * that is read on every screen and written a few times a month.
+ */
+public class JsonResponseCache {
+
+    private final Jsonb jsonb;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Entry entry;
+
+    public JsonResponseCache(Jsonb jsonb) {
+        this.jsonb = jsonb;
+    }
+
+    public Entry get(Supplier<?> loader) {
+        Entry current = entry;
+        if (current != null)
+            return current;
+
+        long loadedGeneration = generation.get();
+        byte[] json = jsonb.toJson(loader.get()).getBytes(StandardCharsets.UTF_8);
+        Entry loaded = new Entry(json, etagOf(json));
+
+        synchronized (this) {
+            // An invalidation that happened while loading means the loaded data may already be stale
+            if (generation.get() == loadedGeneration)
+                entry = loaded;
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        entry = null;
+    }
+
+    /**
+     * Invalidates once the current transaction completes, so no reader can cache the rows of
+     * the transaction before they are committed.
+     */
+    public void invalidateAfterCompletion(TransactionSynchronizationRegistry registry) {
+        invalidate();
+        registry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {}
+
+            @Override
+            public void afterCompletion(int status) {
+                invalidate();
+            }
+        });
+    }
+
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    public static class Entry {
+
+        private final byte[] json;
+
+        private final String etag;
+
+        private Entry(byte[] json, String etag) {
+            this.json = json;
+            this.etag = etag;
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.codev.utils.helpers;
+
+import com.codev.domain.dto.form.UserDTOForm;
+import com.codev.domain.model.User;
+
+/**
+ * Copies the form onto the user. PUT validates the whole form, so the name is always present; the
+ * optional email and links keep their value when left out. The password is not copied, it is
+ * hashed by the caller.
+ */
+public class UserPatcher {
+
+    private UserPatcher() {}
+
+    public static void apply(User user, UserDTOForm userDTOForm) {
+        user.setName(userDTOForm.getName());
+
+        if (userDTOForm.getEmail() != null)
+            user.setEmail(userDTOForm.getEmail());
+
+        if (userDTOForm.getGithubUrl() != null)
+            user.setGithubUrl(userDTOForm.getGithubUrl());
+
+        if (userDTOForm.getAdditionalUrl() != null)
+            user.setAdditionalUrl(userDTOForm.getAdditionalUrl());
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.codev.utils.helpers;
+
+import jakarta.ws.rs.core.EntityTag;
+
+/**
+ * Strong ETag built from the @Version of an entity, and the parsing of the If-Match header that
+ * a conditional PUT sends back.
+ */
+public class VersionTag {
+
+    private VersionTag() {}
+
+    public static EntityTag of(long version) {
+        return new EntityTag(Long.toString(version));
+    }
+
+    /**
+     * The version the client expects, or null when the header is absent or "*", which accepts any
+     * current version. Only a single tag is supported.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*"))
+            return null;
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/"))
+            throw new IllegalArgumentException("If-Match requires a strong ETag.");
+
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\""))
+            throw new IllegalArgumentException("Invalid If-Match header.");
+
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match header.", e);
+        }
+    }
+
+}
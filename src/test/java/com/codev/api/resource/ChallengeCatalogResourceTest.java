@@ -0,0 +1,166 @@
+package com.codev.api.resource;
+
+import com.codev.api.security.token.TokenService;
+import com.codev.domain.enums.ChallengeStatus;
+import com.codev.domain.model.Role;
+import com.codev.infraestructure.jdbc.JdbcMetrics;
+import com.codev.infraestructure.search.ChallengeSearchIndex;
+import com.codev.support.EmbeddedPostgresResource;
+import com.codev.support.TestData;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Every fetch plan loads what its view renders in one statement, so the number of round trips of
+ * an endpoint must not depend on how many challenges, technologies, labels or roles it returns.
+ */
+@QuarkusTest
+@QuarkusTestResource(EmbeddedPostgresResource.class)
+class ChallengeCatalogResourceTest {
+
+    @Inject
+    JdbcMetrics jdbcMetrics;
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    ChallengeSearchIndex challengeSearchIndex;
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void aPageOfChallengesTakesTheSameStatementsWhateverItsSize() {
+        long onePage = statementsOf(() -> given().get("/challenges?size=1").then().statusCode(200));
+        long twoPage = statementsOf(() -> given().get("/challenges?size=2").then().statusCode(200));
+
+        // The page of ids, then the challenges hydrated with their author, category and technologies
+        assertEquals(2, onePage);
+        assertEquals(onePage, twoPage);
+    }
+
+    @Test
+    void aSingleChallengeIsLoadedWithOneStatement() {
+        String token = tokenService.generateToken("pedro@gmail.com", List.of(new Role("USER")));
+
+        long statements = statementsOf(() -> given().auth().oauth2(token)
+                .get("/challenges/" + TestData.CHALLENGE_ID)
+                .then().statusCode(200));
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void aPageOfACategoryTakesTheSameStatementsWhateverItsSize() throws Exception {
+        UUID categoryId = UUID.fromString("436de9e1-5ae5-470f-a014-e2d096376ec3");
+        for (int i = 0; i < 2; i++)
+            TestData.update(dataSource, "UPDATE tb_challenge SET category_id = ? WHERE id = ?",
+                    categoryId, TestData.insertChallenge(dataSource, ChallengeStatus.TO_BEGIN.name()));
+
+        long onePage = statementsOf(() -> given().get("/challenges?category=" + categoryId + "&size=1").then().statusCode(200));
+        long twoPage = statementsOf(() -> given().get("/challenges?category=" + categoryId + "&size=2").then().statusCode(200));
+
+        // As the main listing: the page of ids, then the challenges
+        assertEquals(2, onePage);
+        assertEquals(onePage, twoPage);
+    }
+
+    @Test
+    void theCategoriesAreReadOnceThenServedFromTheirCache() {
+        String token = tokenService.generateToken("pedro@gmail.com", List.of(new Role("USER")));
+
+        statementsOf(() -> given().auth().oauth2(token).get("/categories").then().statusCode(200));
+
+        assertEquals(0, statementsOf(() -> given().auth().oauth2(token).get("/categories").then().statusCode(200)));
+    }
+
+    @Test
+    void aPageOfSearchResultsTakesTheSameStatementsWhateverItsSize() throws Exception {
+        for (int i = 0; i < 2; i++)
+            TestData.insertChallenge(dataSource, ChallengeStatus.TO_BEGIN.name());
+        challengeSearchIndex.rebuild();
+
+        String token = tokenService.generateToken("pedro@gmail.com", List.of(new Role("USER")));
+        long onePage = statementsOf(() -> given().auth().oauth2(token).get("/challenges/search?q=test&size=1").then().statusCode(200));
+        long twoPage = statementsOf(() -> given().auth().oauth2(token).get("/challenges/search?q=test&size=2").then().statusCode(200));
+
+        // The hits come from the in-memory index, only the challenges are loaded
+        assertEquals(1, onePage);
+        assertEquals(onePage, twoPage);
+    }
+
+    @Test
+    void anOversizedSearchPageIsRejected() {
+        String token = tokenService.generateToken("pedro@gmail.com", List.of(new Role("USER")));
+
+        given().auth().oauth2(token).get("/challenges/search?q=test&size=51").then().statusCode(400);
+        given().auth().oauth2(token).get("/challenges/search?q=test&size=50").then().statusCode(200);
+    }
+
+    @Test
+    void aPageOfSolutionsTakesTheSameStatementsWhateverItsSize() {
+        String token = tokenService.generateToken("pedro@gmail.com", List.of(new Role("USER")));
+        String solutions = "/challenges/" + TestData.CHALLENGE_ID + "/solutions?size=";
+
+        long onePage = statementsOf(() -> given().auth().oauth2(token).header("X-User-ID", TestData.ADMIN_ID).get(solutions + 1).then().statusCode(200));
+        long twoPage = statementsOf(() -> given().auth().oauth2(token).header("X-User-ID", TestData.ADMIN_ID).get(solutions + 2).then().statusCode(200));
+
+        // Authors, like counts and the like of the user come with the solutions
+        assertEquals(1, onePage);
+        assertEquals(onePage, twoPage);
+    }
+
+    /*
+     * Users are not fetched with a plan but through the second-level cache: a page is one query,
+     * then the labels and the roles of all its users in one batch each, and none once cached. So
+     * both pages are of users no test has read yet.
+     */
+    @Test
+    void aPageOfUsersTakesTheSameStatementsWhateverItsSize() throws Exception {
+        String token = tokenService.generateToken("breno@gmail.com", List.of(new Role("ADMIN")));
+        String onePageName = uncachedUsers(1);
+        String twoPageName = uncachedUsers(2);
+
+        long onePage = statementsOf(() -> given().auth().oauth2(token).get("/users?startsWith=" + onePageName + "&size=1").then().statusCode(200));
+        long twoPage = statementsOf(() -> given().auth().oauth2(token).get("/users?startsWith=" + twoPageName + "&size=2").then().statusCode(200));
+
+        assertEquals(3, onePage);
+        assertEquals(onePage, twoPage);
+    }
+
+    @Test
+    void aSingleUserIsLoadedWithABatchPerCollectionThenFromTheCache() throws Exception {
+        String token = tokenService.generateToken("breno@gmail.com", List.of(new Role("ADMIN")));
+        UUID userId = TestData.insertUsers(dataSource, 1).get(0);
+
+        assertEquals(3, statementsOf(() -> given().auth().oauth2(token).get("/users/" + userId).then().statusCode(200)));
+        assertEquals(0, statementsOf(() -> given().auth().oauth2(token).get("/users/" + userId).then().statusCode(200)));
+    }
+
+    // Inserts users under a name of their own and returns it
+    private String uncachedUsers(int count) throws Exception {
+        String name = "probe" + UUID.randomUUID().toString().substring(0, 8);
+
+        for (UUID userId : TestData.insertUsers(dataSource, count))
+            TestData.update(dataSource, "UPDATE tb_user SET name = ? WHERE id = ?", name, userId);
+
+        return name;
+    }
+
+    private long statementsOf(Runnable request) {
+        long before = jdbcMetrics.statementCount();
+        request.run();
+        return jdbcMetrics.statementCount() - before;
+    }
+
+}
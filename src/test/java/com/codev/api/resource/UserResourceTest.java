@@ -0,0 +1,95 @@
+package com.codev.api.resource;
+
+import com.codev.api.security.token.TokenService;
+import com.codev.domain.model.Role;
+import com.codev.support.EmbeddedPostgresResource;
+import com.codev.support.TestData;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@QuarkusTestResource(EmbeddedPostgresResource.class)
+class UserResourceTest {
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void anUnknownEmailIsAnsweredLikeAWrongPassword() {
+        login("pedro@gmail.com", "wrong").then().statusCode(401);
+        login("nobody@gmail.com", "12345").then().statusCode(401);
+    }
+
+    @Test
+    void aLegacyHashIsUpgradedOnceWithAVersionedUpdate() throws Exception {
+        String sql = "SELECT version FROM tb_user WHERE email = 'harlon@gmail.com'";
+        long version = TestData.queryLong(dataSource, sql);
+
+        login("harlon@gmail.com", "12345").then().statusCode(200);
+        assertEquals(version + 1, TestData.queryLong(dataSource, sql));
+
+        login("harlon@gmail.com", "12345").then().statusCode(200);
+        assertEquals(version + 1, TestData.queryLong(dataSource, sql));
+    }
+
+    @Test
+    void aSubstringSearchIsRankedBySimilarity() throws Exception {
+        String token = tokenService.generateToken("breno@gmail.com", List.of(new Role("ADMIN")));
+        List<String> bySimilarity = List.of("Zylo", "Zylo Barros", "Ana Zylofone Barros");
+
+        List<UUID> users = TestData.insertUsers(dataSource, bySimilarity.size());
+        for (int i = 0; i < users.size(); i++)
+            TestData.update(dataSource, "UPDATE tb_user SET name = ? WHERE id = ?", bySimilarity.get(bySimilarity.size() - 1 - i), users.get(i));
+
+        given().auth().oauth2(token)
+                .get("/users?startsWith=ZYL&mode=SUBSTRING&size=5")
+                .then().statusCode(200)
+                .body("name", contains(bySimilarity.toArray()));
+    }
+
+    @Test
+    void aPutNeedsTheWholeFormButKeepsTheOptionalFieldsLeftOut() throws Exception {
+        String token = tokenService.generateToken("breno@gmail.com", List.of(new Role("ADMIN")));
+        UUID user = TestData.insertUsers(dataSource, 1).get(0);
+        TestData.update(dataSource, "UPDATE tb_user SET github_url = 'https://github.com/kept' WHERE id = ?", user);
+
+        given().auth().oauth2(token)
+                .contentType(ContentType.JSON)
+                .body("{\"githubUrl\":\"https://github.com/renamed\"}")
+                .put("/users/" + user)
+                .then().statusCode(400);
+
+        given().auth().oauth2(token)
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"Renamed\",\"password\":\"12345\"}")
+                .put("/users/" + user)
+                .then().statusCode(200)
+                .body("name", equalTo("Renamed"))
+                .body("email", equalTo(user + "@test.codev"))
+                .body("githubUrl", equalTo("https://github.com/kept"));
+    }
+
+    private static Response login(String email, String password) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body("{\"username\":\"" + email + "\",\"password\":\"" + password + "\"}")
+                .post("/users/login");
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.codev.api.security.auth;
+
+import com.codev.support.EmbeddedPostgresResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@QuarkusTestResource(EmbeddedPostgresResource.class)
+@TestProfile(LoginAdmissionControllerTest.SmallBucketsProfile.class)
+class LoginAdmissionControllerTest {
+
+    private static final int IP_CAPACITY = 3;
+
+    /**
+     * A per-address bucket the test can empty before it refills, and cheap hashes.
+     */
+    public static class SmallBucketsProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "codev.login.ip.capacity", String.valueOf(IP_CAPACITY),
+                    "codev.login.ip.refill-per-minute", "1",
+                    "codev.password.iterations", "1000"
+            );
+        }
+
+    }
+
+    @Test
+    void thePerAddressBucketIsKeyedOnTheForwardedAddress() {
+        // Distinct emails, so only the per-address bucket can run out
+        for (int i = 0; i < IP_CAPACITY; i++)
+            login("nobody" + i + "@gmail.com", "203.0.113.7").then().statusCode(401);
+
+        login("nobody@gmail.com", "203.0.113.7").then().statusCode(429);
+        login("nobody@gmail.com", "203.0.113.8").then().statusCode(401);
+    }
+
+    private static Response login(String email, String forwardedFor) {
+        return given()
+                .header("X-Forwarded-For", forwardedFor)
+                .contentType(ContentType.JSON)
+                .body("{\"username\":\"" + email + "\",\"password\":\"12345\"}")
+                .post("/users/login");
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.codev.api.security.auth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PBKDF2EncoderTest {
+
+    private final PBKDF2Encoder encoder = new PBKDF2Encoder("mysecret", 33, 256, 1000, 1, 4, 5000L);
+
+    @AfterEach
+    void shutdown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void matchesItsOwnHashOnly() throws Exception {
+        String hash = encoder.encode("12345");
+
+        assertTrue(encoder.matches("12345", hash));
+        assertFalse(encoder.matches("54321", hash));
+    }
+
+    @Test
+    void malformedHashesDoNotMatch() throws Exception {
+        String hash = encoder.encode("12345");
+        String[] parts = hash.split("\\$");
+
+        assertFalse(encoder.matches("12345", "$pbkdf2-sha512$many$" + parts[3] + "$" + parts[4]));
+        assertFalse(encoder.matches("12345", "$pbkdf2-sha512$0$" + parts[3] + "$" + parts[4]));
+        assertFalse(encoder.matches("12345", "$pbkdf2-sha512$1000$not base64!$" + parts[4]));
+        assertFalse(encoder.matches("12345", "$pbkdf2-sha512$1000$$" + parts[4]));
+        assertFalse(encoder.matches("12345", "not a legacy hash either"));
+    }
+
+    @Test
+    void theDummyDerivationNeverMatches() throws Exception {
+        assertFalse(encoder.matchesNone("12345"));
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.codev.api.serializers;
+
+import com.codev.domain.dto.view.*;
+import com.codev.domain.enums.BulkItemStatus;
+import com.codev.domain.enums.ChallengeStatus;
+import com.codev.domain.model.*;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Every view must render the same JSON through its serializer as through the reflective JSON-B
+ * mapping, both fully populated and with its optional properties left null.
+ */
+class ViewSerializersCustomizerTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2023, 8, 11, 0, 15, 49, 483342884);
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2023, 9, 1, 12, 0);
+
+    private static Jsonb reflective;
+
+    private static Jsonb serializers;
+
+    @BeforeAll
+    static void createJsonb() {
+        reflective = JsonbBuilder.create(new JsonbConfig());
+
+        JsonbConfig config = new JsonbConfig();
+        new ViewSerializersCustomizer(true).customize(config);
+        serializers = JsonbBuilder.create(config);
+    }
+
+    @AfterAll
+    static void closeJsonb() throws Exception {
+        reflective.close();
+        serializers.close();
+    }
+
+    @Test
+    void challengeViewMatchesJsonb() {
+        Challenge challenge = new Challenge();
+        challenge.setId(UUID.randomUUID());
+        challenge.setTitle("NodeJS + NoSQL");
+        challenge.setDescription("Api de \"Rede Social\" com NodeJS\ne NoSQL");
+        challenge.setCreatedAt(CREATED_AT);
+        challenge.setEndDate(UPDATED_AT);
+        challenge.setStatus(ChallengeStatus.IN_PROGRESS);
+        challenge.setAuthor(user());
+        challenge.setParticipantsCount(12);
+        challenge.setSolutionsCount(3);
+        challenge.setVersion(7);
+
+        Set<TechnologyDTOView> technologies = new LinkedHashSet<>(List.of(technology(), new TechnologyDTOView(UUID.randomUUID(), "Java", null, null)));
+
+        assertSameJson(new ChallengeDTOView(challenge, category(), technologies));
+        assertSameJson(new ChallengeDTOView());
+        assertSameJson(List.of(new ChallengeDTOView(challenge, null, Set.of())));
+    }
+
+    @Test
+    void categoryViewMatchesJsonb() {
+        assertSameJson(new CategoryDTOView(category()));
+        assertSameJson(new CategoryDTOView(null, null));
+    }
+
+    @Test
+    void technologyViewMatchesJsonb() {
+        assertSameJson(technology());
+        assertSameJson(new TechnologyDTOView(null, null, null, null));
+    }
+
+    @Test
+    void userViewMatchesJsonb() {
+        assertSameJson(new UserDTOView(user()));
+        assertSameJson(new UserDTOView());
+    }
+
+    @Test
+    void solutionViewMatchesJsonb() {
+        SolutionDTOView solution = new SolutionDTOView(UUID.randomUUID(), user(), "github.com/harlon/banco-tal", "heroku.com", 3, true);
+        solution.setSolutionId(UUID.randomUUID());
+
+        assertSameJson(solution);
+        assertSameJson(new SolutionDTOView());
+    }
+
+    @Test
+    void likeViewMatchesJsonb() {
+        assertSameJson(new LikeDTOView(true, true, 4L, 9L));
+        assertSameJson(new LikeDTOView(false, true, null));
+        assertSameJson(new LikeDTOView(true, null, null));
+    }
+
+    @Test
+    void leaderboardEntryViewMatchesJsonb() {
+        assertSameJson(new LeaderboardEntryDTOView(1, UUID.randomUUID(), UUID.randomUUID(), "Harlon Garcia", "github.com/harlon", "heroku.com", 42));
+        assertSameJson(new LeaderboardEntryDTOView());
+    }
+
+    @Test
+    void loginAdmissionViewMatchesJsonb() {
+        assertSameJson(new LoginAdmissionDTOView(2, 4, 1000, 3, 5, 7));
+    }
+
+    @Test
+    void userExportViewMatchesJsonb() {
+        assertSameJson(new UserExportDTOView(UUID.randomUUID(), "Pedro Arruda", "pedro@gmail.com", "https://github.com/Palc3301",
+                "www.linkedin.com/in/pedro-arruda", CREATED_AT, UPDATED_AT, List.of("ADMIN", "USER"), List.of()));
+        assertSameJson(new UserExportDTOView());
+    }
+
+    @Test
+    void challengeBulkItemViewMatchesJsonb() {
+        assertSameJson(new ChallengeBulkItemDTOView(0, UUID.randomUUID(), BulkItemStatus.CREATED, null));
+        assertSameJson(new ChallengeBulkItemDTOView(1, null, BulkItemStatus.REJECTED, "title: must not be blank"));
+    }
+
+    @Test
+    void histogramSummaryViewMatchesJsonb() {
+        assertSameJson(histogram());
+    }
+
+    @Test
+    void jdbcCallSiteMetricsViewMatchesJsonb() {
+        assertSameJson(new JdbcCallSiteMetricsDTOView("UserRepositoryImpl.findAllUsers", histogram(), histogram(), histogram(), histogram()));
+        assertSameJson(new JdbcCallSiteMetricsDTOView());
+    }
+
+    @Test
+    void slowQueryViewMatchesJsonb() {
+        assertSameJson(new SlowQueryDTOView(3, CREATED_AT, "SolutionRepositoryImpl.toggleLike", "SELECT 1 WHERE id = ?",
+                List.of("uuid 3460d1b8-f756-4425-b79f-a76b07a006ba", "<varchar>"), 1, 250_000, "timeout", "Seq Scan on tb_like"));
+        assertSameJson(new SlowQueryDTOView());
+    }
+
+    private static void assertSameJson(Object view) {
+        assertEquals(reflective.toJson(view), serializers.toJson(view));
+    }
+
+    private static User user() {
+        Label label = new Label();
+        label.setId(UUID.randomUUID());
+        label.setTitle("Mentor");
+        label.setDescription("Answers questions on the forum");
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName("Harlon Garcia");
+        user.setEmail("harlon@gmail.com");
+        user.setGithubUrl("https://github.com/HarlonGarcia");
+        user.setCreatedAt(CREATED_AT);
+        user.setUpdatedAt(UPDATED_AT);
+        user.setLabels(Set.of(label));
+        user.setRoles(List.of(new Role("USER")));
+        return user;
+    }
+
+    private static Category category() {
+        Category category = new Category("Backend");
+        category.setId(UUID.randomUUID());
+        return category;
+    }
+
+    private static TechnologyDTOView technology() {
+        return new TechnologyDTOView(UUID.randomUUID(), "NodeJS", "https://nodejs.org/docs", "#3c873a");
+    }
+
+    private static HistogramSummaryDTOView histogram() {
+        return new HistogramSummaryDTOView(1200, 431.25, 310, 900, 2400, 15000);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.codev.infraestructure.buffer;
+
+import com.codev.domain.enums.ChallengeStatus;
+import com.codev.infraestructure.leaderboard.ChallengeLeaderboards;
+import com.codev.support.EmbeddedPostgresResource;
+import com.codev.support.TestData;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@QuarkusTest
+@QuarkusTestResource(EmbeddedPostgresResource.class)
+@TestProfile(LikeWriteBehindBufferTest.WriteBehindProfile.class)
+class LikeWriteBehindBufferTest {
+
+    /**
+     * Likes buffered, with an interval and a size no test reaches, so only the tests flush.
+     */
+    public static class WriteBehindProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "codev.likes.write-behind.enabled", "true",
+                    "codev.likes.write-behind.max-pending", "100000",
+                    "codev.likes.write-behind.flush-interval-ms", "3600000"
+            );
+        }
+
+    }
+
+    @Inject
+    LikeWriteBehindBuffer likeWriteBehindBuffer;
+
+    @Inject
+    ChallengeLeaderboards challengeLeaderboards;
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void aChangeIsOnlyReportedAgainstABufferedState() throws Exception {
+        UUID user = TestData.insertUsers(dataSource, 1).get(0);
+
+        assertNull(likeWriteBehindBuffer.offer(TestData.SOLUTION_ID, user, true).getChanged());
+        assertEquals(true, likeWriteBehindBuffer.offer(TestData.SOLUTION_ID, user, false).getChanged());
+        assertEquals(false, likeWriteBehindBuffer.offer(TestData.SOLUTION_ID, user, false).getChanged());
+
+        likeWriteBehindBuffer.flush();
+    }
+
+    @Test
+    void aFlushMovesTheBoardWithoutReloadingIt() throws Exception {
+        UUID challengeId = TestData.insertChallenge(dataSource, ChallengeStatus.TO_BEGIN.name());
+        UUID solutionId = UUID.randomUUID();
+        TestData.insertSolution(dataSource, challengeId, solutionId, 0);
+        challengeLeaderboards.top(challengeId, 10);
+
+        List<UUID> users = TestData.insertUsers(dataSource, 3);
+        users.forEach(user -> likeWriteBehindBuffer.offer(solutionId, user, true));
+        likeWriteBehindBuffer.offer(solutionId, users.get(0), false);
+        likeWriteBehindBuffer.flush();
+
+        assertEquals(2, TestData.queryLong(dataSource, "SELECT likes_count FROM tb_solution WHERE id = ?", solutionId));
+
+        // A reload would read this count; the board keeps the one the flush gave it
+        TestData.update(dataSource, "UPDATE tb_solution SET likes_count = 99 WHERE id = ?", solutionId);
+
+        assertEquals(2, challengeLeaderboards.top(challengeId, 10).get(0).getLikes());
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.codev.infraestructure.impl;
+
+import com.codev.domain.repository.ChallengeRepository;
+import com.codev.support.EmbeddedPostgresResource;
+import com.codev.support.TestData;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@QuarkusTestResource(EmbeddedPostgresResource.class)
+class ChallengeRepositoryImplTest {
+
+    @Inject
+    ChallengeRepository challengeRepository;
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void racingJoinsAndUnjoinsKeepTheCounterEqualToTheParticipantRows() throws Exception {
+        List<UUID> users = TestData.insertUsers(dataSource, 16);
+
+        TestData.race(8, 2000, random -> {
+            UUID user = users.get(random.nextInt(users.size()));
+
+            if (random.nextBoolean())
+                challengeRepository.joinChallenge(TestData.CHALLENGE_ID, user);
+            else
+                challengeRepository.unjoinChallenge(TestData.CHALLENGE_ID, user);
+        });
+
+        long rows = TestData.queryLong(dataSource, "SELECT count(*) FROM tb_participant WHERE challenge_id = ?", TestData.CHALLENGE_ID);
+        long counter = TestData.queryLong(dataSource, "SELECT participants_count FROM tb_challenge WHERE id = ?", TestData.CHALLENGE_ID);
+
+        assertTrue(rows > 0);
+        assertEquals(rows, counter);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.codev.infraestructure.impl;
+
+import com.codev.domain.repository.SolutionRepository;
+import com.codev.support.EmbeddedPostgresResource;
+import com.codev.support.TestData;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@QuarkusTestResource(EmbeddedPostgresResource.class)
+class SolutionRepositoryImplTest {
+
+    @Inject
+    SolutionRepository solutionRepository;
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void racingLikesAndUnlikesKeepTheCounterEqualToTheLikeRows() throws Exception {
+        List<UUID> users = TestData.insertUsers(dataSource, 16);
+
+        // Few users for many operations, so the same (solution, user) pair is toggled concurrently
+        TestData.race(8, 2000, random -> {
+            UUID user = users.get(random.nextInt(users.size()));
+
+            if (random.nextBoolean())
+                solutionRepository.addLike(TestData.SOLUTION_ID, user);
+            else
+                solutionRepository.removeLike(TestData.SOLUTION_ID, user);
+        });
+
+        long rows = TestData.queryLong(dataSource, "SELECT count(*) FROM tb_like WHERE solution_id = ?", TestData.SOLUTION_ID);
+        long counter = TestData.queryLong(dataSource, "SELECT likes_count FROM tb_solution WHERE id = ?", TestData.SOLUTION_ID);
+
+        assertTrue(rows > 0);
+        assertEquals(rows, counter);
+    }
+
+    @Test
+    void onlyTheAuthorDeletesASolutionAndItsLikes() throws Exception {
+        UUID solutionId = UUID.randomUUID();
+        TestData.insertSolution(dataSource, TestData.CHALLENGE_ID, solutionId, 0);
+        UUID stranger = TestData.insertUsers(dataSource, 1).get(0);
+        solutionRepository.addLike(solutionId, stranger);
+
+        assertFalse(solutionRepository.deleteSolution(solutionId, stranger));
+        assertEquals(1, TestData.queryLong(dataSource, "SELECT count(*) FROM tb_like WHERE solution_id = ?", solutionId));
+
+        assertTrue(solutionRepository.deleteSolution(solutionId, TestData.ADMIN_ID));
+        assertEquals(0, TestData.queryLong(dataSource, "SELECT count(*) FROM tb_like WHERE solution_id = ?", solutionId));
+        assertEquals(0, TestData.queryLong(dataSource, "SELECT count(*) FROM tb_solution WHERE id = ?", solutionId));
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.codev.infraestructure.impl;
+
+import com.codev.domain.dto.form.UserFiltersDTOForm;
+import com.codev.domain.enums.SearchMode;
+import com.codev.domain.model.User;
+import com.codev.domain.repository.UserRepository;
+import com.codev.infraestructure.schema.UserSearchIndex;
+import com.codev.support.EmbeddedPostgresResource;
+import com.codev.support.TestData;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@QuarkusTestResource(EmbeddedPostgresResource.class)
+@TestProfile(UserRepositoryImplTest.WithoutTrigramsProfile.class)
+class UserRepositoryImplTest {
+
+    private static final int MAX_CANDIDATES = 5;
+
+    /**
+     * A fresh database where pg_trgm is never created, so substring search falls back to ranking
+     * by match position.
+     */
+    public static class WithoutTrigramsProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "codev.users.search.create-index", "false",
+                    "codev.users.search.max-candidates", String.valueOf(MAX_CANDIDATES)
+            );
+        }
+
+    }
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    UserSearchIndex userSearchIndex;
+
+    @Test
+    void bothSearchModesRankNoMoreThanTheCandidateLimitWithoutTrigrams() throws Exception {
+        assertFalse(userSearchIndex.isTrigramAvailable());
+        TestData.insertUsers(dataSource, 2 * MAX_CANDIDATES);
+
+        for (SearchMode mode : SearchMode.values()) {
+            String term = mode == SearchMode.PREFIX ? "Test" : "User";
+
+            List<User> users = userRepository.findAllUsers(new UserFiltersDTOForm(term, mode), null, 3 * MAX_CANDIDATES);
+
+            assertEquals(MAX_CANDIDATES, users.size());
+            users.forEach(user -> assertTrue(user.getName().toLowerCase().contains(term.toLowerCase())));
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.codev.infraestructure.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlowQueryRecorderTest {
+
+    @Test
+    void planLiteralsAreBlankedOut() {
+        String plan = """
+                Index Scan using tb_user_email_key on tb_user u1_0  (cost=0.15..8.17 rows=1 width=1064) (actual time=0.011..0.012 rows=1 loops=1)
+                  Index Cond: ((email)::text = 'pedro@gmail.com'::text)
+                  Filter: (((name)::text <> 'O''Brien'::text) AND (id <> '3460d1b8-f756-4425-b79f-a76b07a006ba'::uuid))
+                Planning Time: 0.120 ms""";
+
+        assertEquals("""
+                Index Scan using tb_user_email_key on tb_user u1_0  (cost=0.15..8.17 rows=1 width=1064) (actual time=0.011..0.012 rows=1 loops=1)
+                  Index Cond: ((email)::text = '?'::text)
+                  Filter: (((name)::text <> '?'::text) AND (id <> '?'::uuid))
+                Planning Time: 0.120 ms""", SlowQueryRecorder.scrubLiterals(plan));
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.codev.infraestructure.jobs;
+
+import com.codev.domain.enums.ChallengeStatus;
+import com.codev.support.EmbeddedPostgresResource;
+import com.codev.support.TestData;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@QuarkusTestResource(EmbeddedPostgresResource.class)
+class ChallengeCounterReconcilerTest {
+
+    @Inject
+    ChallengeCounterReconciler challengeCounterReconciler;
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void aJoinCommittedDuringTheRecountIsKept() throws Exception {
+        UUID challengeId = TestData.insertChallenge(dataSource, ChallengeStatus.TO_BEGIN.name());
+        UUID user = TestData.insertUsers(dataSource, 1).get(0);
+        TestData.update(dataSource, "UPDATE tb_challenge SET participants_count = 5 WHERE id = ?", challengeId);
+
+        try (Connection join = dataSource.getConnection()) {
+            join.setAutoCommit(false);
+            execute(join, "INSERT INTO tb_participant (challenge_id, participant_id) VALUES (?, ?)", challengeId, user);
+            execute(join, "UPDATE tb_challenge SET participants_count = participants_count + 1 WHERE id = ?", challengeId);
+
+            // The recount's snapshot misses the join, and its update waits on the joined row
+            CompletableFuture<Void> reconcile = CompletableFuture.runAsync(challengeCounterReconciler::reconcile);
+            while (TestData.queryLong(dataSource, "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' AND query LIKE 'WITH batch%'") == 0)
+                Thread.sleep(10);
+
+            join.commit();
+            reconcile.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, TestData.queryLong(dataSource, "SELECT participants_count FROM tb_challenge WHERE id = ?", challengeId));
+    }
+
+    private static void execute(Connection connection, String sql, Object... parameters) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++)
+                statement.setObject(i + 1, parameters[i]);
+            statement.executeUpdate();
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.codev.infraestructure.leaderboard;
+
+import com.codev.domain.dto.view.LeaderboardEntryDTOView;
+import com.codev.domain.enums.ChallengeStatus;
+import com.codev.domain.exceptions.database.ConnectionPoolSaturatedException;
+import com.codev.infraestructure.concurrency.ConnectionPoolGate;
+import com.codev.support.EmbeddedPostgresResource;
+import com.codev.support.TestData;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+@QuarkusTestResource(EmbeddedPostgresResource.class)
+class ChallengeLeaderboardsTest {
+
+    @Inject
+    ChallengeLeaderboards challengeLeaderboards;
+
+    @Inject
+    ConnectionPoolGate connectionPoolGate;
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void liveAndFinishedBoardsBreakTiesInTheDatabaseOrder() throws Exception {
+        for (ChallengeStatus status : List.of(ChallengeStatus.TO_BEGIN, ChallengeStatus.FINISHED)) {
+            UUID challengeId = TestData.insertChallenge(dataSource, status.name());
+
+            // Signed and unsigned comparisons of these ids disagree on the high bit
+            for (String prefix : List.of("00000000", "7fffffff", "80000000", "ffffffff"))
+                TestData.insertSolution(dataSource, challengeId, UUID.fromString(prefix + UUID.randomUUID().toString().substring(8)), 1);
+
+            assertEquals(databaseOrder(challengeId), ids(challengeLeaderboards.top(challengeId, 10)));
+        }
+    }
+
+    @Test
+    void aCountOlderThanTheHeldOneIsIgnored() throws Exception {
+        UUID challengeId = TestData.insertChallenge(dataSource, ChallengeStatus.TO_BEGIN.name());
+        UUID solutionId = UUID.randomUUID();
+        TestData.insertSolution(dataSource, challengeId, solutionId, 0);
+        challengeLeaderboards.top(challengeId, 10);
+
+        // Two likes commit and their callbacks run in the opposite order
+        challengeLeaderboards.updateAfterCommit(solutionId, 2, 2);
+        challengeLeaderboards.updateAfterCommit(solutionId, 1, 1);
+
+        assertEquals(2, challengeLeaderboards.top(challengeId, 10).get(0).getLikes());
+    }
+
+    @Test
+    void onlyALoadWaitsForTheConnectionGate() throws Exception {
+        UUID warm = TestData.insertChallenge(dataSource, ChallengeStatus.TO_BEGIN.name());
+        UUID cold = TestData.insertChallenge(dataSource, ChallengeStatus.TO_BEGIN.name());
+        UUID finished = TestData.insertChallenge(dataSource, ChallengeStatus.FINISHED.name());
+        challengeLeaderboards.top(warm, 10);
+
+        int held = 0;
+        try {
+            while (true) {
+                connectionPoolGate.acquire();
+                held++;
+            }
+        } catch (ConnectionPoolSaturatedException e) {
+            // Every permit is taken
+        }
+
+        try {
+            assertEquals(List.of(), challengeLeaderboards.top(warm, 10));
+            assertThrows(ConnectionPoolSaturatedException.class, () -> challengeLeaderboards.top(cold, 10));
+            assertThrows(ConnectionPoolSaturatedException.class, () -> challengeLeaderboards.top(finished, 10));
+        } finally {
+            for (int i = 0; i < held; i++)
+                connectionPoolGate.release();
+        }
+
+        assertEquals(List.of(), challengeLeaderboards.top(cold, 10));
+    }
+
+    private List<UUID> databaseOrder(UUID challengeId) throws SQLException {
+        return TestData.queryIds(dataSource, "SELECT id FROM tb_solution WHERE challenge_id = ? ORDER BY likes_count DESC, id", challengeId);
+    }
+
+    private static List<UUID> ids(List<LeaderboardEntryDTOView> entries) {
+        return entries.stream().map(LeaderboardEntryDTOView::getSolutionId).toList();
+    }
+
+}
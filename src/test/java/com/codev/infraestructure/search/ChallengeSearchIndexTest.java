@@ -0,0 +1,106 @@
+package com.codev.infraestructure.search;
+
+import com.codev.domain.enums.ChallengeStatus;
+import com.codev.domain.model.Category;
+import com.codev.domain.model.Challenge;
+import com.codev.utils.helpers.ChallengeSearchCursor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChallengeSearchIndexTest {
+
+    // Never rebuilt, so it needs no database
+    private final ChallengeSearchIndex index = new ChallengeSearchIndex(null, false);
+
+    @Test
+    void accentsAndCaseAreFolded() {
+        Challenge challenge = challenge("Introdução à Programação", "Lógica e algoritmos", null, ChallengeStatus.TO_BEGIN);
+        index.indexCommitted(List.of(challenge));
+
+        assertEquals(List.of("introducao", "programacao"), ChallengeSearchIndex.tokenize("Introdução à Programação"));
+        assertEquals(List.of(challenge.getId()), ids(index.search("PROGRAMACAO", null, null, null, 10)));
+        assertEquals(List.of(challenge.getId()), ids(index.search("lógica", null, null, null, 10)));
+    }
+
+    @Test
+    void aTitleMatchOutranksADescriptionMatch() {
+        Challenge inDescription = challenge("Api de pedidos", "Com cache em redis", null, ChallengeStatus.TO_BEGIN);
+        Challenge inTitle = challenge("Cache em redis", "Uma api de pedidos", null, ChallengeStatus.TO_BEGIN);
+        index.indexCommitted(List.of(inDescription, inTitle));
+
+        assertEquals(List.of(inTitle.getId(), inDescription.getId()), ids(index.search("redis", null, null, null, 10)));
+    }
+
+    @Test
+    void categoryAndStatusFilterTheHits() {
+        UUID backend = UUID.randomUUID();
+        Challenge toBegin = challenge("Fila com kafka", "", backend, ChallengeStatus.TO_BEGIN);
+        Challenge inProgress = challenge("Fila com kafka", "", backend, ChallengeStatus.IN_PROGRESS);
+        Challenge otherCategory = challenge("Fila com kafka", "", UUID.randomUUID(), ChallengeStatus.TO_BEGIN);
+        index.indexCommitted(List.of(toBegin, inProgress, otherCategory));
+
+        assertEquals(List.of(toBegin.getId()), ids(index.search("kafka", backend, ChallengeStatus.TO_BEGIN, null, 10)));
+        assertEquals(2, index.search("kafka", backend, null, null, 10).size());
+        assertEquals(2, index.search("kafka", null, ChallengeStatus.TO_BEGIN, null, 10).size());
+    }
+
+    @Test
+    void theCursorContinuesThroughEqualScores() {
+        List<Challenge> challenges = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            challenges.add(challenge("Chat com websockets", "", null, ChallengeStatus.TO_BEGIN));
+        index.indexCommitted(challenges);
+
+        List<UUID> all = ids(index.search("websockets", null, null, null, 10));
+        assertEquals(5, all.size());
+
+        List<UUID> paged = new ArrayList<>();
+        ChallengeSearchCursor cursor = null;
+        List<ChallengeSearchIndex.Hit> page;
+        do {
+            page = index.search("websockets", null, null, cursor, 2);
+            page.forEach(hit -> paged.add(hit.id()));
+
+            if (!page.isEmpty()) {
+                ChallengeSearchIndex.Hit last = page.get(page.size() - 1);
+                cursor = ChallengeSearchCursor.decode(new ChallengeSearchCursor(last.score(), last.id()).encode());
+            }
+        } while (page.size() == 2);
+
+        assertEquals(all, paged);
+    }
+
+    @Test
+    void stopwordsAloneMatchNothing() {
+        index.indexCommitted(List.of(challenge("Uma api para o cinema", "", null, ChallengeStatus.TO_BEGIN)));
+
+        assertTrue(index.search("para o", null, null, null, 10).isEmpty());
+    }
+
+    private static Challenge challenge(String title, String description, UUID categoryId, ChallengeStatus status) {
+        Challenge challenge = new Challenge();
+        challenge.setId(UUID.randomUUID());
+        challenge.setTitle(title);
+        challenge.setDescription(description);
+        challenge.setStatus(status);
+        challenge.setActive(true);
+
+        if (categoryId != null) {
+            Category category = new Category("Backend");
+            category.setId(categoryId);
+            challenge.setCategory(category);
+        }
+        return challenge;
+    }
+
+    private static List<UUID> ids(List<ChallengeSearchIndex.Hit> hits) {
+        return hits.stream().map(ChallengeSearchIndex.Hit::id).toList();
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.codev.support;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Rows and helpers shared by the database-backed tests. The ids of import.sql are the fixtures;
+ * anything a test needs on top of them is inserted under fresh ids so tests do not depend on order.
+ */
+public final class TestData {
+
+    public static final UUID ADMIN_ID = UUID.fromString("0a10cc2c-d527-44bc-912f-95ea6aa94961");
+
+    public static final UUID CHALLENGE_ID = UUID.fromString("dd57f958-586b-47d4-8868-f6f7e78aa387");
+
+    public static final UUID SOLUTION_ID = UUID.fromString("3460d1b8-f756-4425-b79f-a76b07a006ba");
+
+    @FunctionalInterface
+    public interface Operation {
+        void run(Random random) throws Exception;
+    }
+
+    private TestData() {}
+
+    public static List<UUID> insertUsers(DataSource dataSource, int count) throws SQLException {
+        String sql = "INSERT INTO tb_user (id, name, email, password, active, created_at, version) " +
+                "VALUES (?, ?, ?, 'unused', true, ?, 0)";
+        List<UUID> ids = new ArrayList<>(count);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            for (int i = 0; i < count; i++) {
+                UUID id = UUID.randomUUID();
+                statement.setObject(1, id);
+                statement.setString(2, "Test user " + i);
+                statement.setString(3, id + "@test.codev");
+                statement.setObject(4, LocalDateTime.now());
+                statement.addBatch();
+                ids.add(id);
+            }
+            statement.executeBatch();
+        }
+
+        return ids;
+    }
+
+    public static UUID insertChallenge(DataSource dataSource, String status) throws SQLException {
+        String sql = "INSERT INTO tb_challenge (id, title, description, author_id, active, status, created_at, participants_count, solutions_count) " +
+                "SELECT ?, 'Test challenge', 'Test challenge', author_id, true, ?, ?, 0, 0 FROM tb_challenge WHERE id = ?";
+        UUID id = UUID.randomUUID();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setObject(1, id);
+            statement.setString(2, status);
+            statement.setObject(3, LocalDateTime.now());
+            statement.setObject(4, CHALLENGE_ID);
+            statement.executeUpdate();
+        }
+
+        return id;
+    }
+
+    public static void insertSolution(DataSource dataSource, UUID challengeId, UUID solutionId, long likes) throws SQLException {
+        String sql = "INSERT INTO tb_solution (id, author_id, challenge_id, repository_url, likes_count) " +
+                "VALUES (?, ?, ?, 'github.com/test', ?)";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setObject(1, solutionId);
+            statement.setObject(2, ADMIN_ID);
+            statement.setObject(3, challengeId);
+            statement.setLong(4, likes);
+            statement.executeUpdate();
+        }
+    }
+
+    public static int update(DataSource dataSource, String sql, Object... parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            for (int i = 0; i < parameters.length; i++)
+                statement.setObject(i + 1, parameters[i]);
+
+            return statement.executeUpdate();
+        }
+    }
+
+    public static List<UUID> queryIds(DataSource dataSource, String sql, Object... parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            for (int i = 0; i < parameters.length; i++)
+                statement.setObject(i + 1, parameters[i]);
+
+            List<UUID> ids = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next())
+                    ids.add(resultSet.getObject(1, UUID.class));
+            }
+            return ids;
+        }
+    }
+
+    public static long queryLong(DataSource dataSource, String sql, Object... parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            for (int i = 0; i < parameters.length; i++)
+                statement.setObject(i + 1, parameters[i]);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Runs the operation {@code operations} times from {@code threads} threads released together,
+     * each thread with its own seeded Random, and rethrows the first failure.
+     */
+    public static void race(int threads, int operations, Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                Random random = new Random(t);
+                int share = operations / threads + (t < operations % threads ? 1 : 0);
+
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < share; i++)
+                        operation.run(random);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}